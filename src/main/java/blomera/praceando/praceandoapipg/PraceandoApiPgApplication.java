@@ -6,11 +6,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication(scanBasePackages = "blomera.praceando.praceandoapipg")
 @EntityScan(basePackages = "blomera.praceando.praceandoapipg.model")
 @EnableCaching
+@EnableScheduling
 public class PraceandoApiPgApplication {
 
     public static void main(String[] args) {
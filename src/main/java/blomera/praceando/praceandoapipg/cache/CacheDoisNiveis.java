@@ -0,0 +1,126 @@
+/*
+ * Class: CacheDoisNiveis
+ * Description: Spring Cache with an in-process Caffeine L1 in front of a Redis L2.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache com um L1 limitado em memória (tamanho e TTL) na frente do L2 no Redis.
+ * Leituras tentam o L1 e, na falta, o L2, preenchendo o L1. Escritas e remoções vão aos dois níveis
+ * e são avisadas às demais instâncias, que descartam só a cópia do L1. Preenchimentos após uma falta devem passar por
+ * get(key, valueLoader) (ou @Cacheable(sync = true)), que grava nos dois níveis sem avisar ninguém; put é sempre
+ * tratado como escrita.
+ * As chaves do L1 são o toString da chave, o mesmo texto enviado na invalidação.
+ */
+public class CacheDoisNiveis implements Cache {
+
+    private final String nome;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> l1;
+    private final Cache l2;
+    private final BiConsumer<String, String> invalidador;
+
+    /**
+     * @param invalidador recebe (nome do cache, chave) — chave null significa o cache inteiro.
+     */
+    public CacheDoisNiveis(String nome, Cache l2, long tamanhoMaximo, Duration ttl, BiConsumer<String, String> invalidador) {
+        this.nome = nome;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .build();
+        this.l2 = l2;
+        this.invalidador = invalidador;
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String chave = key.toString();
+        ValueWrapper valor = l1.getIfPresent(chave);
+        if (valor == null) {
+            valor = l2.get(key);
+            if (valor != null) {
+                l1.put(chave, valor);
+            }
+        }
+        return valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valor = get(key);
+        if (valor == null) {
+            return null;
+        }
+        Object conteudo = valor.get();
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + conteudo);
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String chave = key.toString();
+        ValueWrapper valor = l1.getIfPresent(chave);
+        if (valor != null) {
+            return (T) valor.get();
+        }
+        T carregado = l2.get(key, valueLoader);
+        l1.put(chave, new SimpleValueWrapper(carregado));
+        return carregado;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        l1.put(key.toString(), new SimpleValueWrapper(value));
+        invalidador.accept(nome, key.toString());
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.invalidate(key.toString());
+        invalidador.accept(nome, key.toString());
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        invalidador.accept(nome, null);
+    }
+
+    /**
+     * Descarta a cópia local após uma alteração feita em outra instância.
+     */
+    void invalidarLocal(String chave) {
+        if (chave == null) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(chave);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Class: CacheDoisNiveisManager
+ * Description: CacheManager that puts a Caffeine L1 in front of each Redis cache and syncs L1 through pub/sub.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.cache;
+
+import blomera.praceando.praceandoapipg.config.CacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monta um CacheDoisNiveis para cada cache do RedisCacheManager, com o L1 configurado por cache em CacheProperties.
+ * Escritas e remoções são publicadas no CANAL; as outras instâncias descartam a entrada do seu L1.
+ */
+public class CacheDoisNiveisManager implements CacheManager, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheDoisNiveisManager.class);
+
+    public static final String CANAL = "praceando:invalidacao:cache";
+
+    private static final String INSTANCIA = UUID.randomUUID().toString();
+    private static final String TODAS = "*";
+
+    private final CacheManager redisCacheManager;
+    private final CacheProperties propriedades;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public CacheDoisNiveisManager(CacheManager redisCacheManager, CacheProperties propriedades, StringRedisTemplate redisTemplate) {
+        this.redisCacheManager = redisCacheManager;
+        this.propriedades = propriedades;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, nome -> {
+            Cache l2 = redisCacheManager.getCache(nome);
+            CacheProperties.Nivel nivel = propriedades.nivel(nome);
+            if (l2 == null || nivel.getL1TamanhoMaximo() <= 0) {
+                return l2;
+            }
+            return new CacheDoisNiveis(nome, l2, nivel.getL1TamanhoMaximo(), nivel.getL1Ttl(), this::publicar);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] partes = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (partes.length < 3 || INSTANCIA.equals(partes[0])) {
+            return;
+        }
+        if (caches.get(partes[1]) instanceof CacheDoisNiveis cache) {
+            cache.invalidarLocal(TODAS.equals(partes[2]) ? null : partes[2]);
+        }
+    }
+
+    private void publicar(String nome, String chave) {
+        try {
+            redisTemplate.convertAndSend(CANAL, String.join("|", INSTANCIA, nome, chave == null ? TODAS : chave));
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao publicar invalidação do cache {} no Redis.", nome, e);
+        }
+    }
+}
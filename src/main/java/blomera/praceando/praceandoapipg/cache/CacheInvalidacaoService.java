@@ -0,0 +1,129 @@
+/*
+ * Class: CacheInvalidacaoService
+ * Description: Evicts cached events on writes and propagates changes to the other API instances.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.cache;
+
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.event.LocalAlteradoEvent;
+import blomera.praceando.praceandoapipg.event.TagAlteradaEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Remove do Redis as entradas dos eventos alterados e avisa as demais instâncias pelo canal CANAL.
+ * Cada instância que recebe a mensagem republica a alteração localmente (com remoto = true), para que
+ * os índices em memória e os caches locais se atualizem sem reenviar a mensagem.
+ */
+@Service
+public class CacheInvalidacaoService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidacaoService.class);
+
+    public static final String CANAL = "praceando:invalidacao";
+
+    /** Identifica esta instância nas mensagens, para ignorar as que ela mesma enviou. */
+    private static final String INSTANCIA = UUID.randomUUID().toString();
+
+    private static final String TIPO_EVENTO = "E";
+    private static final String TIPO_LOCAL = "L";
+    private static final String TIPO_TAG = "T";
+
+    /** Separa os ids de uma mensagem de eventos, que traz todos os ids de um cadastro em lote. */
+    private static final String SEPARADOR_IDS = ",";
+
+    private static final String SQL_EVENTOS_DO_LOCAL = "SELECT id_evento FROM evento WHERE cd_local = ?";
+
+    private static final String SQL_EVENTOS_DA_TAG = "SELECT cd_evento FROM evento_tag WHERE cd_tag = ?";
+
+    private final EventoCache eventoCache;
+    private final StringRedisTemplate redisTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CacheInvalidacaoService(EventoCache eventoCache, StringRedisTemplate redisTemplate, JdbcTemplate jdbcTemplate,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.eventoCache = eventoCache;
+        this.redisTemplate = redisTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        eventoCache.evict(evento.getIdsEventos());
+        if (!evento.isRemoto()) {
+            String ids = evento.getIdsEventos().stream().map(String::valueOf).collect(Collectors.joining(SEPARADOR_IDS));
+            publicar(String.join("|", INSTANCIA, TIPO_EVENTO, ids, evento.getTipo().name()));
+        }
+    }
+
+    /**
+     * Os eventos guardam o nome do local, então a alteração de um local invalida todos os eventos dele.
+     */
+    @EventListener
+    public void onLocalAlterado(LocalAlteradoEvent local) {
+        eventoCache.evict(jdbcTemplate.queryForList(SQL_EVENTOS_DO_LOCAL, Long.class, local.getIdLocal()));
+        if (!local.isRemoto()) {
+            publicar(String.join("|", INSTANCIA, TIPO_LOCAL, local.getIdLocal().toString()));
+        }
+    }
+
+    /**
+     * Os eventos guardam os nomes das suas tags, então a alteração de uma tag invalida todos os eventos com ela.
+     */
+    @EventListener
+    public void onTagAlterada(TagAlteradaEvent tag) {
+        eventoCache.evict(jdbcTemplate.queryForList(SQL_EVENTOS_DA_TAG, Long.class, tag.getIdTag()));
+        if (!tag.isRemoto()) {
+            publicar(String.join("|", INSTANCIA, TIPO_TAG, tag.getIdTag().toString()));
+        }
+    }
+
+    /**
+     * Recebe as alterações feitas nas outras instâncias.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] partes = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|");
+        if (partes.length < 3 || INSTANCIA.equals(partes[0])) {
+            return;
+        }
+        try {
+            if (TIPO_EVENTO.equals(partes[1]) && partes.length == 4) {
+                List<Long> ids = Arrays.stream(partes[2].split(SEPARADOR_IDS)).map(Long::valueOf).toList();
+                eventPublisher.publishEvent(new EventoAlteradoEvent(ids, EventoAlteradoEvent.Tipo.valueOf(partes[3]), true));
+            } else if (TIPO_LOCAL.equals(partes[1])) {
+                eventPublisher.publishEvent(new LocalAlteradoEvent(Long.valueOf(partes[2]), true));
+            } else if (TIPO_TAG.equals(partes[1])) {
+                eventPublisher.publishEvent(new TagAlteradaEvent(Long.valueOf(partes[2]), true));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Mensagem de invalidação inválida: {}", new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void publicar(String mensagem) {
+        try {
+            redisTemplate.convertAndSend(CANAL, mensagem);
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao publicar invalidação {} no Redis.", mensagem, e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Class: CompactoRedisSerializer
+ * Description: Versioned compact binary RedisSerializer for cached DTOs, with JDK serialization as fallback.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.cache;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializador binário dos valores em cache. Cada valor começa com a versão do formato e o código do codec
+ * registrado para a sua classe; classes sem codec caem na serialização do JDK (código 0).
+ * Valores de outra versão do formato são lidos como ausentes (null), o que o cache trata como miss,
+ * e valores antigos gravados só com a serialização do JDK continuam legíveis.
+ */
+public class CompactoRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte VERSAO = 1;
+    private static final byte CODIGO_JDK = 0;
+
+    /** Tamanho gravado no lugar de um texto nulo. */
+    private static final long TAMANHO_NULO = -1;
+
+    /** Primeiros bytes de um stream da serialização do JDK (0xACED). */
+    private static final byte JDK_MAGICO_1 = (byte) 0xAC;
+    private static final byte JDK_MAGICO_2 = (byte) 0xED;
+
+    /**
+     * Codifica uma classe de DTO. O código identifica o codec no payload e não pode ser reaproveitado.
+     */
+    public interface Codec<T> {
+        byte getCodigo();
+
+        Class<T> getTipo();
+
+        void escrever(T valor, Saida saida);
+
+        T ler(Entrada entrada);
+    }
+
+    private final Map<Class<?>, Codec<?>> codecsPorTipo = new HashMap<>();
+    private final Codec<?>[] codecsPorCodigo = new Codec<?>[128];
+    private final JdkSerializationRedisSerializer jdk = new JdkSerializationRedisSerializer();
+
+    public CompactoRedisSerializer(List<Codec<?>> codecs) {
+        for (Codec<?> codec : codecs) {
+            if (codec.getCodigo() <= CODIGO_JDK || codecsPorCodigo[codec.getCodigo()] != null) {
+                throw new IllegalArgumentException("Código de codec inválido ou repetido: " + codec.getCodigo());
+            }
+            codecsPorCodigo[codec.getCodigo()] = codec;
+            codecsPorTipo.put(codec.getTipo(), codec);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object valor) throws SerializationException {
+        if (valor == null) {
+            return null;
+        }
+        Codec<Object> codec = (Codec<Object>) codecsPorTipo.get(valor.getClass());
+        Saida saida = new Saida();
+        saida.escreverByte(VERSAO);
+        if (codec == null) {
+            saida.escreverByte(CODIGO_JDK);
+            saida.escreverBytes(jdk.serialize(valor));
+        } else {
+            saida.escreverByte(codec.getCodigo());
+            codec.escrever(valor, saida);
+        }
+        return saida.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 2) {
+            return null;
+        }
+        if (bytes[0] == JDK_MAGICO_1 && bytes[1] == JDK_MAGICO_2) {
+            return jdk.deserialize(bytes);
+        }
+        if (bytes[0] != VERSAO) {
+            return null;
+        }
+        byte codigo = bytes[1];
+        if (codigo == CODIGO_JDK) {
+            byte[] conteudo = new byte[bytes.length - 2];
+            System.arraycopy(bytes, 2, conteudo, 0, conteudo.length);
+            return jdk.deserialize(conteudo);
+        }
+        Codec<?> codec = codigo > 0 ? codecsPorCodigo[codigo] : null;
+        if (codec == null) {
+            return null;
+        }
+        try {
+            return codec.ler(new Entrada(bytes, 2));
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new SerializationException("Valor em cache truncado para o codec " + codigo, e);
+        }
+    }
+
+    /**
+     * Escrita com inteiros em varint (zigzag para os que podem ser negativos), datas em dia da época
+     * e horas em segundo do dia (frações de segundo são descartadas).
+     */
+    public static class Saida {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+
+        public void escreverByte(int valor) {
+            bytes.write(valor);
+        }
+
+        public void escreverBytes(byte[] valor) {
+            bytes.writeBytes(valor);
+        }
+
+        public void escreverVarLong(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                bytes.write((int) ((valor & 0x7F) | 0x80));
+                valor >>>= 7;
+            }
+            bytes.write((int) valor);
+        }
+
+        public void escreverZigZag(long valor) {
+            escreverVarLong((valor << 1) ^ (valor >> 63));
+        }
+
+        /**
+         * Texto nulo é gravado com o tamanho TAMANHO_NULO. Nenhum payload anterior tem tamanho negativo, então o formato
+         * continua compatível com a mesma VERSAO.
+         */
+        public void escreverTexto(String valor) {
+            if (valor == null) {
+                escreverVarLong(TAMANHO_NULO);
+                return;
+            }
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            escreverVarLong(utf8.length);
+            bytes.writeBytes(utf8);
+        }
+
+        public void escreverData(LocalDate valor) {
+            escreverZigZag(valor.toEpochDay());
+        }
+
+        public void escreverHora(LocalTime valor) {
+            escreverVarLong(valor.toSecondOfDay());
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    public static class Entrada {
+        private final byte[] bytes;
+        private int posicao;
+
+        Entrada(byte[] bytes, int posicao) {
+            this.bytes = bytes;
+            this.posicao = posicao;
+        }
+
+        public int lerByte() {
+            return bytes[posicao++] & 0xFF;
+        }
+
+        public long lerVarLong() {
+            long valor = 0;
+            int deslocamento = 0;
+            byte atual;
+            do {
+                atual = bytes[posicao++];
+                valor |= (long) (atual & 0x7F) << deslocamento;
+                deslocamento += 7;
+            } while ((atual & 0x80) != 0);
+            return valor;
+        }
+
+        public long lerZigZag() {
+            long valor = lerVarLong();
+            return (valor >>> 1) ^ -(valor & 1);
+        }
+
+        public String lerTexto() {
+            long tamanhoGravado = lerVarLong();
+            if (tamanhoGravado == TAMANHO_NULO) {
+                return null;
+            }
+            if (tamanhoGravado < 0 || posicao + tamanhoGravado > bytes.length) {
+                throw new ArrayIndexOutOfBoundsException("Texto de " + tamanhoGravado + " bytes na posição " + posicao);
+            }
+            int tamanho = (int) tamanhoGravado;
+            String valor = new String(bytes, posicao, tamanho, StandardCharsets.UTF_8);
+            posicao += tamanho;
+            return valor;
+        }
+
+        public LocalDate lerData() {
+            return LocalDate.ofEpochDay(lerZigZag());
+        }
+
+        public LocalTime lerHora() {
+            return LocalTime.ofSecondOfDay(lerVarLong());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Class: EventoCache
+ * Description: Per-event two-level cache (Caffeine L1, Redis L2) for EventoDTO with batched reads and writes.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.cache;
+
+import blomera.praceando.praceandoapipg.config.CacheProperties;
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache de EventoDTO no Redis com uma chave por evento ("evento::{id}"), para que listas de ids que se sobrepõem
+ * aproveitem as mesmas entradas. Um lote de ids é lido com um único MGET; só os ids ausentes vão ao banco,
+ * e eles voltam ao Redis em um único pipeline. Na frente do Redis fica um L1 em memória (cache "evento" em
+ * CacheProperties), limpo pela CacheInvalidacaoService quando o evento muda aqui ou em outra instância.
+ * <p>
+ * Uma leitura que começou antes de uma remoção não devolve aos níveis o que leu: cada remoção recebe uma geração e,
+ * se o id foi removido depois do início da leitura, a cópia lida (possivelmente anterior ao commit) só vai para quem
+ * pediu. Sem isso, um leitor lento regravaria a linha antiga no L1 e no Redis depois da invalidação, e ela ficaria lá
+ * até o TTL do L2.
+ */
+@Component
+public class EventoCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoCache.class);
+
+    private static final String PREFIXO = "evento::";
+    private static final String NOME = "evento";
+
+    /** Quanto tempo a geração de uma remoção é lembrada; folga para a leitura mais lenta de um lote. */
+    private static final Duration RETENCAO_INVALIDACAO = Duration.ofMinutes(5);
+
+    private final RedisTemplate<String, EventoDTO> redisTemplate;
+    private final Cache<Long, EventoDTO> l1;
+    private final Duration ttl;
+    private final AtomicLong geracao = new AtomicLong();
+    private final Cache<Long, Long> invalidacoes = Caffeine.newBuilder()
+            .expireAfterWrite(RETENCAO_INVALIDACAO)
+            .build();
+
+    public EventoCache(RedisTemplate<String, EventoDTO> eventoRedisTemplate, CacheProperties cacheProperties) {
+        CacheProperties.Nivel nivel = cacheProperties.nivel(NOME);
+        this.redisTemplate = eventoRedisTemplate;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(nivel.getL1TamanhoMaximo())
+                .expireAfterWrite(nivel.getL1Ttl())
+                .build();
+        this.ttl = nivel.getL2Ttl();
+    }
+
+    /**
+     * @param ids ids dos eventos; repetições são ignoradas.
+     * @param carregador consulta ao banco para os ids que não estão no cache.
+     * @return os eventos encontrados, na ordem dos ids pedidos.
+     */
+    public List<EventoDTO> getAll(List<Long> ids, Function<List<Long>, List<EventoDTO>> carregador) {
+        List<Long> unicos = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, EventoDTO> encontrados = new HashMap<>(l1.getAllPresent(unicos));
+
+        List<Long> foraDoL1 = new ArrayList<>();
+        for (Long id : unicos) {
+            if (!encontrados.containsKey(id)) {
+                foraDoL1.add(id);
+            }
+        }
+
+        if (!foraDoL1.isEmpty()) {
+            long inicio = geracao.get();
+            List<EventoDTO> emCache = lerDoRedis(foraDoL1);
+            List<EventoDTO> doRedis = new ArrayList<>();
+            List<Long> ausentes = new ArrayList<>();
+            for (int i = 0; i < foraDoL1.size(); i++) {
+                EventoDTO evento = emCache != null ? emCache.get(i) : null;
+                if (evento != null) {
+                    encontrados.put(foraDoL1.get(i), evento);
+                    doRedis.add(evento);
+                } else {
+                    ausentes.add(foraDoL1.get(i));
+                }
+            }
+            gravarNoL1(doRedis, inicio);
+
+            if (!ausentes.isEmpty()) {
+                List<EventoDTO> carregados = carregador.apply(ausentes);
+                carregados.forEach(evento -> encontrados.put(evento.getIdEvento(), evento));
+                List<EventoDTO> vigentes = gravarNoL1(carregados, inicio);
+                gravarNoRedis(vigentes);
+                List<Long> removidosDepois = removidosDesde(vigentes, inicio);
+                if (!removidosDepois.isEmpty()) {
+                    apagarDoRedis(removidosDepois);
+                }
+            }
+        }
+
+        List<EventoDTO> eventos = new ArrayList<>(encontrados.size());
+        for (Long id : unicos) {
+            EventoDTO evento = encontrados.get(id);
+            if (evento != null) {
+                eventos.add(evento);
+            }
+        }
+        return eventos;
+    }
+
+    /**
+     * Grava no L1 os eventos que não foram removidos desde o início da leitura. A nova checagem depois da gravação
+     * cobre a remoção que acontece entre a primeira checagem e o put: como evict registra a geração antes de limpar
+     * os níveis, ou ela limpa o que foi gravado, ou a checagem a enxerga.
+     *
+     * @return os eventos gravados.
+     */
+    private List<EventoDTO> gravarNoL1(List<EventoDTO> eventos, long inicio) {
+        List<EventoDTO> vigentes = new ArrayList<>(eventos.size());
+        for (EventoDTO evento : eventos) {
+            if (!removidoDesde(evento.getIdEvento(), inicio)) {
+                l1.put(evento.getIdEvento(), evento);
+                vigentes.add(evento);
+            }
+        }
+        List<Long> removidosDepois = removidosDesde(vigentes, inicio);
+        if (!removidosDepois.isEmpty()) {
+            l1.invalidateAll(removidosDepois);
+        }
+        return vigentes;
+    }
+
+    private boolean removidoDesde(Long idEvento, long inicio) {
+        Long removidoEm = invalidacoes.getIfPresent(idEvento);
+        return removidoEm != null && removidoEm > inicio;
+    }
+
+    private List<Long> removidosDesde(List<EventoDTO> eventos, long inicio) {
+        List<Long> removidos = new ArrayList<>();
+        for (EventoDTO evento : eventos) {
+            if (removidoDesde(evento.getIdEvento(), inicio)) {
+                removidos.add(evento.getIdEvento());
+            }
+        }
+        return removidos;
+    }
+
+    /**
+     * Lê o lote com um único MGET; em caso de falha do Redis, trata tudo como ausente.
+     */
+    private List<EventoDTO> lerDoRedis(List<Long> ids) {
+        List<String> chaves = new ArrayList<>(ids.size());
+        ids.forEach(id -> chaves.add(chave(id)));
+        try {
+            return redisTemplate.opsForValue().multiGet(chaves);
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao ler eventos do Redis, consultando o banco.", e);
+            return null;
+        }
+    }
+
+    private void gravarNoRedis(List<EventoDTO> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, EventoDTO> redis = (RedisOperations<String, EventoDTO>) operations;
+                    for (EventoDTO evento : eventos) {
+                        redis.opsForValue().set(chave(evento.getIdEvento()), evento, ttl);
+                    }
+                    return null;
+                }
+            });
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao gravar eventos no Redis.", e);
+        }
+    }
+
+    /**
+     * Remove as entradas dos eventos informados dos dois níveis. A geração da remoção é registrada antes, para que
+     * leituras já em andamento não regravem esses ids.
+     */
+    public void evict(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Long id : ids) {
+            invalidacoes.put(id, geracao.incrementAndGet());
+        }
+        l1.invalidateAll(ids);
+        apagarDoRedis(ids);
+    }
+
+    private void apagarDoRedis(Collection<Long> ids) {
+        List<String> chaves = new ArrayList<>(ids.size());
+        ids.forEach(id -> chaves.add(chave(id)));
+        try {
+            redisTemplate.delete(chaves);
+        } catch (DataAccessException e) {
+            logger.warn("Falha ao remover eventos {} do Redis.", ids, e);
+        }
+    }
+
+    static String chave(Long idEvento) {
+        return PREFIXO + idEvento;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Class: EventoDTOCodec
+ * Description: Compact binary codec for EventoDTO cache values.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.cache;
+
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato: um byte com os campos presentes (bit i = campo i não nulo), seguido dos campos presentes na ordem
+ * idEvento, nomeEvento, nomeLocal, dataInicio, horaInicio, dataFim, horaFim, tags (quantidade + textos).
+ * Mudanças no formato exigem um novo código ou uma nova versão em CompactoRedisSerializer.
+ */
+public class EventoDTOCodec implements CompactoRedisSerializer.Codec<EventoDTO> {
+
+    public static final byte CODIGO = 1;
+
+    @Override
+    public byte getCodigo() {
+        return CODIGO;
+    }
+
+    @Override
+    public Class<EventoDTO> getTipo() {
+        return EventoDTO.class;
+    }
+
+    @Override
+    public void escrever(EventoDTO evento, CompactoRedisSerializer.Saida saida) {
+        int presentes = (evento.getIdEvento() != null ? 1 : 0)
+                | (evento.getNomeEvento() != null ? 1 << 1 : 0)
+                | (evento.getNomeLocal() != null ? 1 << 2 : 0)
+                | (evento.getDataInicio() != null ? 1 << 3 : 0)
+                | (evento.getHoraInicio() != null ? 1 << 4 : 0)
+                | (evento.getDataFim() != null ? 1 << 5 : 0)
+                | (evento.getHoraFim() != null ? 1 << 6 : 0)
+                | (evento.getTags() != null ? 1 << 7 : 0);
+        saida.escreverByte(presentes);
+
+        if (evento.getIdEvento() != null) saida.escreverZigZag(evento.getIdEvento());
+        if (evento.getNomeEvento() != null) saida.escreverTexto(evento.getNomeEvento());
+        if (evento.getNomeLocal() != null) saida.escreverTexto(evento.getNomeLocal());
+        if (evento.getDataInicio() != null) saida.escreverData(evento.getDataInicio());
+        if (evento.getHoraInicio() != null) saida.escreverHora(evento.getHoraInicio());
+        if (evento.getDataFim() != null) saida.escreverData(evento.getDataFim());
+        if (evento.getHoraFim() != null) saida.escreverHora(evento.getHoraFim());
+        if (evento.getTags() != null) {
+            saida.escreverVarLong(evento.getTags().size());
+            for (String tag : evento.getTags()) {
+                saida.escreverTexto(tag);
+            }
+        }
+    }
+
+    @Override
+    public EventoDTO ler(CompactoRedisSerializer.Entrada entrada) {
+        int presentes = entrada.lerByte();
+        EventoDTO evento = new EventoDTO();
+
+        if ((presentes & 1) != 0) evento.setIdEvento(entrada.lerZigZag());
+        if ((presentes & 1 << 1) != 0) evento.setNomeEvento(entrada.lerTexto());
+        if ((presentes & 1 << 2) != 0) evento.setNomeLocal(entrada.lerTexto());
+        if ((presentes & 1 << 3) != 0) evento.setDataInicio(entrada.lerData());
+        if ((presentes & 1 << 4) != 0) evento.setHoraInicio(entrada.lerHora());
+        if ((presentes & 1 << 5) != 0) evento.setDataFim(entrada.lerData());
+        if ((presentes & 1 << 6) != 0) evento.setHoraFim(entrada.lerHora());
+        if ((presentes & 1 << 7) != 0) {
+            int quantidade = (int) entrada.lerVarLong();
+            List<String> tags = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                tags.add(entrada.lerTexto());
+            }
+            evento.setTags(tags);
+        }
+        return evento;
+    }
+}
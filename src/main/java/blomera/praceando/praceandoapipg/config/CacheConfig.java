@@ -1,27 +1,75 @@
 package blomera.praceando.praceandoapipg.config;
 
 
+import blomera.praceando.praceandoapipg.cache.CacheDoisNiveisManager;
+import blomera.praceando.praceandoapipg.cache.CacheInvalidacaoService;
+import blomera.praceando.praceandoapipg.cache.CompactoRedisSerializer;
+import blomera.praceando.praceandoapipg.cache.EventoDTOCodec;
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public CompactoRedisSerializer cacheValueSerializer() {
+        return new CompactoRedisSerializer(List.of(new EventoDTOCodec()));
+    }
+
+    @Bean
+    public CacheDoisNiveisManager cacheManager(RedisConnectionFactory redisConnectionFactory, CacheProperties cacheProperties,
+                                               StringRedisTemplate stringRedisTemplate, CompactoRedisSerializer cacheValueSerializer) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()));
+                .entryTtl(cacheProperties.getPadrao().getL2Ttl())
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        Map<String, RedisCacheConfiguration> configPorCache = new HashMap<>();
+        cacheProperties.getCaches().forEach((nome, nivel) -> configPorCache.put(nome, config.entryTtl(nivel.getL2Ttl())));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(config)
+                .withInitialCacheConfigurations(configPorCache)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new CacheDoisNiveisManager(redisCacheManager, cacheProperties, stringRedisTemplate);
+    }
+
+    @Bean
+    public RedisTemplate<String, EventoDTO> eventoRedisTemplate(RedisConnectionFactory redisConnectionFactory,
+                                                                CompactoRedisSerializer cacheValueSerializer) {
+        RedisTemplate<String, EventoDTO> template = new RedisTemplate<>();
+        template.setConnectionFactory(redisConnectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(cacheValueSerializer);
+        return template;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       CacheInvalidacaoService cacheInvalidacaoService,
+                                                                       CacheDoisNiveisManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidacaoService, new ChannelTopic(CacheInvalidacaoService.CANAL));
+        container.addMessageListener(cacheManager, new ChannelTopic(CacheDoisNiveisManager.CANAL));
+        return container;
     }
 }
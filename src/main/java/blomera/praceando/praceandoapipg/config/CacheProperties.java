@@ -0,0 +1,37 @@
+package blomera.praceando.praceandoapipg.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuração dos caches em dois níveis (praceando.cache.caches.{nome}.*).
+ * Caches sem configuração própria usam os valores de padrao.
+ */
+@ConfigurationProperties(prefix = "praceando.cache")
+@Getter
+@Setter
+public class CacheProperties {
+
+    private Nivel padrao = new Nivel();
+    private Map<String, Nivel> caches = new HashMap<>();
+
+    public Nivel nivel(String nome) {
+        return caches.getOrDefault(nome, padrao);
+    }
+
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Nivel {
+        /** Quantidade máxima de entradas no cache local (L1); 0 desliga o L1. */
+        private long l1TamanhoMaximo = 1000;
+        private Duration l1Ttl = Duration.ofMinutes(1);
+        private Duration l2Ttl = Duration.ofMinutes(10);
+    }
+}
@@ -3,14 +3,21 @@
  * Description: Controller for the Evento entity.
  * Author: Camilla Ucci de Menezes
  * Creation Date: 20/09/2024
- * Last Updated: 23/09/2024
+ * Last Updated: 18/10/2026
  */
 package blomera.praceando.praceandoapipg.controller;
 
+import blomera.praceando.praceandoapipg.dto.EventoBatchRequestDTO;
+import blomera.praceando.praceandoapipg.dto.EventoBatchResultadoDTO;
 import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import blomera.praceando.praceandoapipg.dto.EventoProximoDTO;
 import blomera.praceando.praceandoapipg.dto.EventoRequest;
 import blomera.praceando.praceandoapipg.dto.IdsRequestDTO;
+import blomera.praceando.praceandoapipg.dto.InteresseBatchRequestDTO;
 import blomera.praceando.praceandoapipg.dto.InteresseRequestDTO;
+import blomera.praceando.praceandoapipg.dto.InteresseStatusDTO;
+import blomera.praceando.praceandoapipg.dto.PageDTO;
+import blomera.praceando.praceandoapipg.dto.SugestaoDTO;
 import blomera.praceando.praceandoapipg.model.*;
 import blomera.praceando.praceandoapipg.service.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,11 +28,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @RestController
@@ -36,31 +48,64 @@ public class EventoController {
     private final LocalService localService;
     private final AnuncianteService anuncianteService;
     private final UsuarioTagService usuarioTagService;
+    private final EventoSnapshotService eventoSnapshotService;
+    private final FeedService feedService;
+    private final TrendingService trendingService;
+    private final EventoBatchService eventoBatchService;
+    private final CalendarioService calendarioService;
+    private final EventoSugestaoService eventoSugestaoService;
 
     @Autowired
-    public EventoController(EventoService eventoService, LocalService localService, AnuncianteService anuncianteService, UsuarioTagService usuarioTagService) {
+    public EventoController(EventoService eventoService, LocalService localService, AnuncianteService anuncianteService, UsuarioTagService usuarioTagService,
+                            EventoSnapshotService eventoSnapshotService, FeedService feedService, TrendingService trendingService,
+                            EventoBatchService eventoBatchService, CalendarioService calendarioService,
+                            EventoSugestaoService eventoSugestaoService) {
         this.eventoService = eventoService;
         this.localService = localService;
         this.anuncianteService = anuncianteService;
         this.usuarioTagService = usuarioTagService;
+        this.eventoSnapshotService = eventoSnapshotService;
+        this.feedService = feedService;
+        this.trendingService = trendingService;
+        this.eventoBatchService = eventoBatchService;
+        this.calendarioService = calendarioService;
+        this.eventoSugestaoService = eventoSugestaoService;
     }
 
     @PostMapping("/read")
     @Operation(summary = "Lista eventos por IDs", description = "Retorna uma lista de eventos com base em uma lista de IDs fornecida")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de eventos retornada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Os eventos não mudaram desde o ETag informado em If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para os IDs fornecidos")
     })
-    public ResponseEntity<?> listarEventos(@RequestBody IdsRequestDTO idsRequest) {
+    public ResponseEntity<?> listarEventos(@RequestBody IdsRequestDTO idsRequest,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = eventoService.etagEventosPorIds(idsRequest.getIds());
+        if (etag != null && etagCorresponde(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<EventoDTO> eventos = eventoService.getEventosPorIds(idsRequest.getIds());
         if (eventos != null && !eventos.isEmpty()) {
-            return ResponseEntity.ok(eventos);
+            return ResponseEntity.ok().eTag(etag).body(eventos);
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para os IDs fornecidos.");
         }
     }
 
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exporta o catálogo de eventos", description = "Retorna todos os eventos ativos, com suas tags, em NDJSON (um evento por linha), escritos à medida que são lidos do banco")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catálogo exportado com sucesso")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarEventos() {
+        StreamingResponseBody corpo = eventoService::exportarEventos;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
     @PostMapping("/create")
     @Operation(summary = "Insere um novo evento", description = "Adiciona um novo evento ao sistema")
     @ApiResponses(value = {
@@ -106,6 +151,22 @@ public class EventoController {
         }
     }
 
+    @PostMapping("/create-batch")
+    @Operation(summary = "Insere vários eventos", description = "Valida locais, anunciantes e tags do lote e insere os eventos válidos em uma única transação. Retorna o id ou o erro de cada item, na ordem recebida.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Ao menos um evento inserido"),
+            @ApiResponse(responseCode = "400", description = "Erro na requisição ou nenhum evento válido")
+    })
+    public ResponseEntity<?> inserirEventos(@RequestBody EventoBatchRequestDTO request) {
+        try {
+            List<EventoBatchResultadoDTO> resultados = eventoBatchService.saveEventos(request.getEventos());
+            boolean algumInserido = resultados.stream().anyMatch(r -> r.getIdEvento() != null);
+            return ResponseEntity.status(algumInserido ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST).body(resultados);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/find/{id}")
     @Operation(summary = "Busca um evento pelo ID", description = "Retorna um evento pelo seu ID")
     @ApiResponses(value = {
@@ -122,47 +183,286 @@ public class EventoController {
     }
 
     @GetMapping("/findByTag/{tagId}")
-    @Operation(summary = "Busca eventos por Tag", description = "Retorna uma lista de eventos associados a uma tag específica")
+    @Operation(summary = "Busca eventos por Tag", description = "Retorna uma página de eventos associados a uma tag específica, ordenada por data de início")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Eventos encontrados com sucesso"),
+            @ApiResponse(responseCode = "304", description = "A página não mudou desde o ETag informado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor de paginação inválido"),
             @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para esta tag")
     })
-    public ResponseEntity<?> buscarEventosPorTag(@Parameter(description = "ID da tag") @PathVariable Long tagId) {
-        List<EventoDTO> eventos = eventoService.findEventosByTag(tagId);
-        if (!eventos.isEmpty()) {
-            return ResponseEntity.ok(eventos);
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para esta tag.");
+    public ResponseEntity<?> buscarEventosPorTag(@Parameter(description = "ID da tag") @PathVariable Long tagId,
+                                                 @Parameter(description = "Quantidade máxima de eventos na página") @RequestParam(defaultValue = "50") int limit,
+                                                 @Parameter(description = "Cursor 'nextCursor' retornado pela página anterior") @RequestParam(required = false) String after,
+                                                 @Parameter(description = "Inclui as quantidades de eventos por tag, por local e por dia de início de todo o resultado") @RequestParam(defaultValue = "false") boolean facets,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = eventoService.etagEventosByTag(tagId, after, limit, facets);
+            if (etagCorresponde(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            PageDTO<EventoDTO> pagina = eventoService.findEventosByTag(tagId, after, limit);
+            if (facets && !pagina.getItems().isEmpty()) pagina.setFacets(eventoService.facetasByTag(tagId));
+            if (!pagina.getItems().isEmpty() || after != null) {
+                return ResponseEntity.ok().eTag(etag).body(pagina);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para esta tag.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/findByTags")
+    @Operation(summary = "Busca eventos por expressão de tags", description = "Retorna uma página de eventos que satisfazem uma expressão booleana de ids ou nomes de tag, como \"(1 AND 2) OR 3\", \"1 AND NOT 4\" ou \"música AND gratuito OR feira\" (nomes com espaços entre aspas), ordenada por id")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos encontrados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Expressão ou cursor inválidos"),
+            @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para esta expressão")
+    })
+    public ResponseEntity<?> buscarEventosPorTags(@Parameter(description = "Expressão de ids ou nomes de tag com AND, OR, NOT e parênteses") @RequestParam String expr,
+                                                  @Parameter(description = "Quantidade máxima de eventos na página") @RequestParam(defaultValue = "50") int limit,
+                                                  @Parameter(description = "Cursor 'nextCursor' retornado pela página anterior") @RequestParam(required = false) String after,
+                                                  @Parameter(description = "Inclui as quantidades de eventos por tag, por local e por dia de início de todo o resultado") @RequestParam(defaultValue = "false") boolean facets) {
+        try {
+            PageDTO<EventoDTO> pagina = eventoService.findEventosByTags(expr, after, limit);
+            if (facets && !pagina.getItems().isEmpty()) pagina.setFacets(eventoService.facetasByTags(expr));
+            if (!pagina.getItems().isEmpty() || after != null) {
+                return ResponseEntity.ok(pagina);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para esta expressão.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
     @GetMapping("/findByAnunciante/{anuncianteId}")
-    @Operation(summary = "Busca eventos por Anunciante", description = "Retorna uma lista de eventos associados a um anunciante específico")
+    @Operation(summary = "Busca eventos por Anunciante", description = "Retorna uma página de eventos associados a um anunciante específico, ordenada por data de início")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Eventos encontrados com sucesso"),
+            @ApiResponse(responseCode = "304", description = "A página não mudou desde o ETag informado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor de paginação inválido"),
             @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para este anunciante")
     })
-    public ResponseEntity<?> buscarEventosPorAnunciante(@Parameter(description = "ID do anunciante") @PathVariable Long anuncianteId) {
-        List<EventoDTO> eventos = eventoService.findEventosByAnunciante(anuncianteId);
-        if (!eventos.isEmpty()) {
-            return ResponseEntity.ok(eventos);
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para este anunciante.");
+    public ResponseEntity<?> buscarEventosPorAnunciante(@Parameter(description = "ID do anunciante") @PathVariable Long anuncianteId,
+                                                        @Parameter(description = "Quantidade máxima de eventos na página") @RequestParam(defaultValue = "50") int limit,
+                                                        @Parameter(description = "Cursor 'nextCursor' retornado pela página anterior") @RequestParam(required = false) String after,
+                                                        @Parameter(description = "Inclui as quantidades de eventos por tag, por local e por dia de início de todo o resultado") @RequestParam(defaultValue = "false") boolean facets,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = eventoService.etagEventosByAnunciante(anuncianteId, after, limit, facets);
+            if (etagCorresponde(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            PageDTO<EventoDTO> pagina = eventoService.findEventosByAnunciante(anuncianteId, after, limit);
+            if (facets && !pagina.getItems().isEmpty()) pagina.setFacets(eventoService.facetasByAnunciante(anuncianteId));
+            if (!pagina.getItems().isEmpty() || after != null) {
+                return ResponseEntity.ok().eTag(etag).body(pagina);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para este anunciante.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
     @GetMapping("/findByDate")
-    @Operation(summary = "Busca eventos por de data", description = "Retorna uma lista de eventos que estaram ativos na datas especificada")
+    @Operation(summary = "Busca eventos por de data", description = "Retorna uma página de eventos que estaram ativos na datas especificada, ordenada por data de início. A primeira página de hoje com o tamanho padrão vem do snapshot em memória")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Eventos encontrados com sucesso"),
+            @ApiResponse(responseCode = "304", description = "A página não mudou desde o ETag informado em If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Cursor de paginação inválido"),
             @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para essa data")
     })
-    public ResponseEntity<?> buscarEventosPorData(@Parameter(description = "Data a ser buscada") @RequestParam LocalDate data) {
-        List<EventoDTO> eventos = eventoService.findEventosByDateRange(data);
+    public ResponseEntity<?> buscarEventosPorData(@Parameter(description = "Data a ser buscada") @RequestParam LocalDate data,
+                                                  @Parameter(description = "Quantidade máxima de eventos na página") @RequestParam(defaultValue = "50") int limit,
+                                                  @Parameter(description = "Cursor 'nextCursor' retornado pela página anterior") @RequestParam(required = false) String after,
+                                                  @Parameter(description = "Inclui as quantidades de eventos por tag, por local e por dia de início de todo o resultado") @RequestParam(defaultValue = "false") boolean facets,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (after == null && !facets && limit == EventoSnapshotService.TAMANHO_PRIMEIRA_PAGINA) {
+            EventoSnapshotService.Snapshot primeiraPagina = eventoSnapshotService.getSnapshot(EventoSnapshotService.Periodo.PRIMEIRA_PAGINA_HOJE);
+            if (primeiraPagina.getData().equals(data)) {
+                if (primeiraPagina.isVazio()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para essa data");
+                }
+                return respostaSnapshot(primeiraPagina, ifNoneMatch);
+            }
+        }
+        try {
+            String etag = eventoService.etagEventosByDate(data, after, limit, facets);
+            if (etagCorresponde(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            PageDTO<EventoDTO> pagina = eventoService.findEventosByDateRange(data, after, limit);
+            if (facets && !pagina.getItems().isEmpty()) pagina.setFacets(eventoService.facetasByDate(data));
+            if (!pagina.getItems().isEmpty() || after != null) {
+                return ResponseEntity.ok().eTag(etag).body(pagina);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para essa data");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/hoje")
+    @Operation(summary = "Lista os eventos de hoje", description = "Retorna, em uma única página, os eventos ativos hoje, ordenados por data de início. Responde 304 quando o ETag informado em If-None-Match ainda é o atual")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos de hoje retornados com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Os eventos de hoje não mudaram")
+    })
+    public ResponseEntity<?> listarEventosDeHoje(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return respostaSnapshot(eventoSnapshotService.getSnapshot(EventoSnapshotService.Periodo.HOJE), ifNoneMatch);
+    }
+
+    @GetMapping("/semana")
+    @Operation(summary = "Lista os eventos da semana", description = "Retorna, em uma única página, os eventos ativos em algum dia entre hoje e os próximos 6 dias, ordenados por data de início. Responde 304 quando o ETag informado em If-None-Match ainda é o atual")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos da semana retornados com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Os eventos da semana não mudaram")
+    })
+    public ResponseEntity<?> listarEventosDaSemana(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return respostaSnapshot(eventoSnapshotService.getSnapshot(EventoSnapshotService.Periodo.SEMANA), ifNoneMatch);
+    }
+
+    @GetMapping("/feed/{idUsuario}")
+    @Operation(summary = "Feed personalizado de eventos", description = "Retorna os eventos ativos que ainda não terminaram, ordenados pela afinidade entre as tags do evento e as tags de interesse do usuário")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Feed retornado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Nenhum evento recomendado para este usuário")
+    })
+    public ResponseEntity<?> buscarFeed(@Parameter(description = "ID do usuário") @PathVariable Long idUsuario,
+                                        @Parameter(description = "Quantidade máxima de eventos no feed") @RequestParam(defaultValue = "20") int limit) {
+        List<EventoDTO> eventos = feedService.getFeed(idUsuario, limit);
         if (!eventos.isEmpty()) {
             return ResponseEntity.ok(eventos);
         } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para essa data");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento recomendado para este usuário.");
+        }
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Eventos em alta", description = "Retorna os eventos com mais interesses recentes (últimas 24 horas, com peso maior para as horas mais próximas), atualizados a cada minuto")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos em alta retornados com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Nenhum evento em alta no momento")
+    })
+    public ResponseEntity<?> buscarEventosEmAlta(@Parameter(description = "Quantidade máxima de eventos (até 50)") @RequestParam(defaultValue = "20") int limit) {
+        List<EventoDTO> eventos = trendingService.getTrending(limit);
+        if (!eventos.isEmpty()) {
+            return ResponseEntity.ok(eventos);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento em alta no momento.");
+        }
+    }
+
+    @GetMapping("/calendar")
+    @Operation(summary = "Calendário do mês", description = "Retorna a quantidade de eventos ativos em cada dia do mês, opcionalmente apenas os de uma tag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calendário retornado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Ano ou mês inválido")
+    })
+    public ResponseEntity<?> buscarCalendario(@Parameter(description = "Ano", example = "2024") @RequestParam int year,
+                                              @Parameter(description = "Mês (1 a 12)", example = "9") @RequestParam int month,
+                                              @Parameter(description = "ID da tag para filtrar os eventos") @RequestParam(required = false) Long idTag) {
+        try {
+            return ResponseEntity.ok(calendarioService.getCalendario(year, month, idTag));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugestões de nomes de eventos", description = "Retorna até 10 eventos ativos com alguma palavra do nome começando pelo prefixo, ignorando acentos e maiúsculas, dos mais para os menos populares")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Prefixo não informado"),
+            @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para este prefixo")
+    })
+    public ResponseEntity<?> sugerirEventos(@Parameter(description = "Início do nome ou de uma palavra do nome", example = "fei") @RequestParam String prefix,
+                                            @Parameter(description = "Quantidade máxima de sugestões (até 10)") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<SugestaoDTO> sugestoes = eventoSugestaoService.sugerir(prefix, limit);
+            if (!sugestoes.isEmpty()) {
+                return ResponseEntity.ok(sugestoes);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para este prefixo.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Busca textual de eventos", description = "Retorna uma página de eventos cujo nome ou descrição correspondem ao termo, ignorando acentos e variações de palavras em português, ordenada por relevância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos encontrados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Termo ou cursor inválidos"),
+            @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para este termo")
+    })
+    public ResponseEntity<?> buscarEventosPorTexto(@Parameter(description = "Termo de busca", example = "feira orgânica") @RequestParam String q,
+                                                   @Parameter(description = "Quantidade máxima de eventos na página") @RequestParam(defaultValue = "20") int limit,
+                                                   @Parameter(description = "Cursor 'nextCursor' retornado pela página anterior") @RequestParam(required = false) String after,
+                                                   @Parameter(description = "Inclui as quantidades de eventos por tag, por local e por dia de início de todo o resultado") @RequestParam(defaultValue = "false") boolean facets) {
+        try {
+            PageDTO<EventoDTO> pagina = eventoService.searchEventos(q, after, limit);
+            if (facets && !pagina.getItems().isEmpty()) pagina.setFacets(eventoService.facetasBySearch(q));
+            if (!pagina.getItems().isEmpty() || after != null) {
+                return ResponseEntity.ok(pagina);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para este termo.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/near")
+    @Operation(summary = "Busca eventos próximos", description = "Retorna uma página de eventos ativos em locais dentro do raio informado, ordenada da menor para a maior distância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos encontrados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Coordenadas, raio ou cursor inválidos"),
+            @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado neste raio")
+    })
+    public ResponseEntity<?> buscarEventosProximos(@Parameter(description = "Latitude do usuário", example = "-23.550520") @RequestParam double lat,
+                                                   @Parameter(description = "Longitude do usuário", example = "-46.633308") @RequestParam double lon,
+                                                   @Parameter(description = "Raio da busca em km", example = "5") @RequestParam double radiusKm,
+                                                   @Parameter(description = "Quantidade máxima de eventos na página") @RequestParam(defaultValue = "50") int limit,
+                                                   @Parameter(description = "Cursor 'nextCursor' retornado pela página anterior") @RequestParam(required = false) String after) {
+        try {
+            PageDTO<EventoProximoDTO> pagina = eventoService.findEventosNear(lat, lon, radiusKm, after, limit);
+            if (!pagina.getItems().isEmpty() || after != null) {
+                return ResponseEntity.ok(pagina);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado neste raio.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/findByWindow")
+    @Operation(summary = "Busca eventos por janela de tempo", description = "Retorna uma página de eventos ativos cujo período (data e hora) cruza a janela informada, como \"sábado das 18h às 22h\" ou \"próximos 7 dias\", ordenada por data de início")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Eventos encontrados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Janela ou cursor inválidos"),
+            @ApiResponse(responseCode = "404", description = "Nenhum evento encontrado para essa janela")
+    })
+    public ResponseEntity<?> buscarEventosPorJanela(@Parameter(description = "Início da janela", example = "2024-09-07T18:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+                                                    @Parameter(description = "Fim da janela", example = "2024-09-07T22:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+                                                    @Parameter(description = "Quantidade máxima de eventos na página") @RequestParam(defaultValue = "50") int limit,
+                                                    @Parameter(description = "Cursor 'nextCursor' retornado pela página anterior") @RequestParam(required = false) String after,
+                                                    @Parameter(description = "Inclui as quantidades de eventos por tag, por local e por dia de início de todo o resultado") @RequestParam(defaultValue = "false") boolean facets) {
+        try {
+            PageDTO<EventoDTO> pagina = eventoService.findEventosByWindow(inicio, fim, after, limit);
+            if (facets && !pagina.getItems().isEmpty()) pagina.setFacets(eventoService.facetasByWindow(inicio, fim));
+            if (!pagina.getItems().isEmpty() || after != null) {
+                return ResponseEntity.ok(pagina);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhum evento encontrado para essa janela.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
@@ -255,4 +555,48 @@ public class EventoController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Evento não encontrado.");
         }
     }
+
+    @PostMapping("/find-interesse-batch")
+    @Operation(summary = "Busca o interesse em vários eventos para o usuário", description = "Retorna, para cada ID de evento ativo encontrado, a quantidade de interesses e se o usuário já demonstrou interesse, em um mapa indexado pelo ID do evento.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dados de interesse retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "IDs ou usuário não informados, ou eventos demais na requisição")
+    })
+    public ResponseEntity<?> getInteresseStatus(@RequestBody InteresseBatchRequestDTO request) {
+        try {
+            Map<Long, InteresseStatusDTO> status = eventoService.getInteresseStatus(request.getIds(), request.getIdUsuario());
+            return ResponseEntity.ok(status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> respostaSnapshot(EventoSnapshotService.Snapshot snapshot, String ifNoneMatch) {
+        if (etagCorresponde(ifNoneMatch, snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
+    }
+
+    /**
+     * Compara o cabeçalho If-None-Match (um ou mais ETags, fortes ou fracos, ou "*") com o ETag atual.
+     */
+    private static boolean etagCorresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            candidato = candidato.trim();
+            if (candidato.startsWith("W/")) {
+                candidato = candidato.substring(2);
+            }
+            if (candidato.equals("*") || candidato.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -3,12 +3,13 @@
  * Description: Controller for the Tag entity.
  * Author: Camilla Ucci de Menezes
  * Creation Date: 24/09/2024
- * Last Updated: 24/09/2024
+ * Last Updated: 18/10/2026
  */
 package blomera.praceando.praceandoapipg.controller;
 
 import blomera.praceando.praceandoapipg.model.Tag;
 import blomera.praceando.praceandoapipg.model.Usuario;
+import blomera.praceando.praceandoapipg.service.TagDicionarioService;
 import blomera.praceando.praceandoapipg.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -27,10 +29,12 @@ import java.util.Optional;
 @io.swagger.v3.oas.annotations.tags.Tag(name = "Tags", description = "Gerenciar tags")
 public class TagController {
     private final TagService tagService;
+    private final TagDicionarioService tagDicionarioService;
 
     @Autowired
-    public TagController(TagService tagService) {
+    public TagController(TagService tagService, TagDicionarioService tagDicionarioService) {
         this.tagService = tagService;
+        this.tagDicionarioService = tagDicionarioService;
     }
 
     @GetMapping("/read")
@@ -48,6 +52,45 @@ public class TagController {
         }
     }
 
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugestões de tags", description = "Retorna as tags ativas com alguma palavra do nome começando pelo prefixo, ignorando acentos e maiúsculas, em ordem alfabética")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Prefixo não informado"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma tag encontrada para este prefixo")
+    })
+    public ResponseEntity<?> sugerirTags(@Parameter(description = "Início do nome ou de uma palavra do nome", example = "sus") @RequestParam String prefix,
+                                         @Parameter(description = "Quantidade máxima de sugestões (até 50)") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<TagDicionarioService.Entrada> tags = tagDicionarioService.sugerir(prefix, limit);
+            if (!tags.isEmpty()) {
+                return ResponseEntity.ok(tags);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhuma tag encontrada para este prefixo.");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/byCategory")
+    @Operation(summary = "Lista as tags por categoria", description = "Retorna as tags ativas agrupadas por categoria, ou apenas as da categoria informada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tags retornadas com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Nenhuma tag encontrada")
+    })
+    public ResponseEntity<?> listarTagsPorCategoria(@Parameter(description = "Categoria desejada", example = "Categoria ambiental") @RequestParam(required = false) String categoria) {
+        Map<String, List<TagDicionarioService.Entrada>> porCategoria = tagDicionarioService.getPorCategoria();
+        if (categoria == null) {
+            if (!porCategoria.isEmpty()) {
+                return ResponseEntity.ok(porCategoria);
+            }
+        } else if (porCategoria.containsKey(categoria.trim())) {
+            return ResponseEntity.ok(porCategoria.get(categoria.trim()));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Nenhuma tag encontrada.");
+    }
+
     @PostMapping("/create")
     @Operation(summary = "Insere um nova tag", description = "Adiciona uma nova tag ao sistema")
     @ApiResponses(value = {
@@ -0,0 +1,17 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CalendarioDiaDTO {
+    private LocalDate data;
+    private int qtEventos;
+}
@@ -0,0 +1,24 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Quantidade de eventos ativos em cada dia de um mês (posição 0 = dia 1), no total e por tag.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CalendarioMesDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int ano;
+    private int mes;
+    private int[] total;
+    private Map<Long, int[]> porTag;
+}
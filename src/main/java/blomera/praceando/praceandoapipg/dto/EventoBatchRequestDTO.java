@@ -0,0 +1,16 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class EventoBatchRequestDTO {
+    private List<EventoRequest> eventos;
+}
@@ -0,0 +1,16 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class EventoBatchResultadoDTO {
+    private int indice;
+    private Long idEvento;
+    private String erro;
+}
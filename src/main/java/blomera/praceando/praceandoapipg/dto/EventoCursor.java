@@ -0,0 +1,51 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de paginação (keyset) sobre a ordenação (dt_inicio, id_evento).
+ * Trafega entre cliente e API como uma string opaca em base64.
+ */
+@AllArgsConstructor
+@Getter
+public class EventoCursor {
+    /**
+     * Cursor anterior a qualquer evento, usado na primeira página.
+     */
+    public static final EventoCursor INICIO = new EventoCursor(LocalDate.of(1900, 1, 1), 0L);
+
+    private final LocalDate dataInicio;
+    private final Long idEvento;
+
+    public static EventoCursor of(EventoDTO evento) {
+        return new EventoCursor(evento.getDataInicio(), evento.getIdEvento());
+    }
+
+    public String encode() {
+        String valor = dataInicio + "|" + idEvento;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor valor recebido em 'after'; nulo ou vazio indica a primeira página.
+     * @throws IllegalArgumentException se o cursor não tiver sido gerado pela API.
+     */
+    public static EventoCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return INICIO;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf('|');
+            return new EventoCursor(LocalDate.parse(valor.substring(0, separador)), Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+    }
+}
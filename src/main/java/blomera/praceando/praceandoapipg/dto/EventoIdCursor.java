@@ -0,0 +1,46 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de paginação sobre a ordenação por id_evento, usada nas listagens que vêm do índice de bitmaps.
+ * Trafega entre cliente e API como uma string opaca em base64, assim como o {@link EventoCursor}.
+ */
+@AllArgsConstructor
+@Getter
+public class EventoIdCursor {
+    private final int idEvento;
+
+    public static EventoIdCursor of(Long idEvento) {
+        return new EventoIdCursor(Math.toIntExact(idEvento));
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(idEvento).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor valor recebido em 'after'; nulo ou vazio indica a primeira página.
+     * @return o cursor, ou null para a primeira página.
+     * @throws IllegalArgumentException se o cursor não tiver sido gerado pela API.
+     */
+    public static EventoIdCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int idEvento;
+        try {
+            idEvento = Integer.parseInt(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+        }
+        if (idEvento < 0) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+        return new EventoIdCursor(idEvento);
+    }
+}
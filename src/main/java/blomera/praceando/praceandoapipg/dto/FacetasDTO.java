@@ -0,0 +1,23 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Quantidade de eventos do resultado completo de uma busca por tag, por local (em ordem decrescente de quantidade)
+ * e por dia de início (em ordem de data).
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class FacetasDTO {
+    private Map<Long, Long> tags;
+    private Map<Long, Long> locais;
+    private Map<LocalDate, Long> dias;
+}
@@ -0,0 +1,24 @@
+package blomera.praceando.praceandoapipg.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private FacetasDTO facets;
+
+    public PageDTO(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
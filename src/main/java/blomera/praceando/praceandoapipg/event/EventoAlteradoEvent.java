@@ -0,0 +1,38 @@
+package blomera.praceando.praceandoapipg.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Publicado sempre que eventos são criados, atualizados, desativados ou excluídos, para que as estruturas mantidas em
+ * memória possam se atualizar. Um cadastro em lote publica um único aviso com todos os ids, e os listeners tratam o
+ * conjunto de uma vez.
+ * Quando remoto é true, a alteração foi feita em outra instância da API e chegou pelo Redis.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class EventoAlteradoEvent {
+
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        DESATIVADO,
+        EXCLUIDO
+    }
+
+    private final List<Long> idsEventos;
+    private final Tipo tipo;
+    private final boolean remoto;
+
+    public EventoAlteradoEvent(Long idEvento, Tipo tipo) {
+        this(List.of(idEvento), tipo, false);
+    }
+
+    public EventoAlteradoEvent(List<Long> idsEventos, Tipo tipo) {
+        this(idsEventos, tipo, false);
+    }
+}
@@ -0,0 +1,16 @@
+package blomera.praceando.praceandoapipg.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Publicado quando um consumidor demonstra interesse em um evento (add-interesse ou InteresseService).
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class InteresseRegistradoEvent {
+    private final Long idEvento;
+    private final Long idConsumidor;
+}
@@ -0,0 +1,21 @@
+package blomera.praceando.praceandoapipg.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Publicado sempre que um local é criado, atualizado, desativado ou excluído.
+ * Quando remoto é true, a alteração foi feita em outra instância da API e chegou pelo Redis.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class LocalAlteradoEvent {
+    private final Long idLocal;
+    private final boolean remoto;
+
+    public LocalAlteradoEvent(Long idLocal) {
+        this(idLocal, false);
+    }
+}
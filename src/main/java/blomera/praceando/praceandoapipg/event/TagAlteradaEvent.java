@@ -0,0 +1,21 @@
+package blomera.praceando.praceandoapipg.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Publicado sempre que uma tag é criada, atualizada, desativada ou excluída.
+ * Quando remoto é true, a alteração foi feita em outra instância da API e chegou pelo Redis.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class TagAlteradaEvent {
+    private final Long idTag;
+    private final boolean remoto;
+
+    public TagAlteradaEvent(Long idTag) {
+        this(idTag, false);
+    }
+}
@@ -0,0 +1,15 @@
+package blomera.praceando.praceandoapipg.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Publicado quando as tags de interesse de um consumidor (usuario_tag) mudam.
+ */
+@AllArgsConstructor
+@Getter
+@ToString
+public class UsuarioTagAlteradoEvent {
+    private final Long idConsumidor;
+}
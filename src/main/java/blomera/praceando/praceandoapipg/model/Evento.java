@@ -3,7 +3,7 @@
  * Description: Model for the Evento entity.
  * Author: Camilla Ucci de Menezes
  * Creation Date: 05/09/2024
- * Last Updated: 05/09/2024
+ * Last Updated: 18/10/2026
  */
 package blomera.praceando.praceandoapipg.model;
 
@@ -23,6 +23,10 @@ import java.time.LocalTime;
 @ToString
 @EqualsAndHashCode
 @Entity(name = "evento")
+@Table(name = "evento", indexes = {
+        @Index(name = "idx_evento_dt_inicio_id", columnList = "dt_inicio, id_evento"),
+        @Index(name = "idx_evento_anunciante_dt_inicio_id", columnList = "cd_anunciante, dt_inicio, id_evento")
+})
 @Schema(description = "Representa um evento no sistema Praceando.")
 public class Evento {
 
@@ -42,8 +46,8 @@ public class Evento {
     @Schema(description = "Anunciante responsável pelo evento.")
     private Anunciante anunciante;
 
-    @Column(name = "qt_interesse")
-    @Schema(description = "Quantidade de pessoas interessadas no evento.", example = "350")
+    @Column(name = "qt_interesse", updatable = false)
+    @Schema(description = "Quantidade de pessoas interessadas no evento. Alterada somente pelo InteresseContadorService.", example = "350")
     private int qtInteresse;
 
     @Size(max = 255, message = "O nome do evento ('nm_evento') deve ter no máximo 255 caracteres.")
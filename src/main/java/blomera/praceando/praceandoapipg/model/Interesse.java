@@ -3,7 +3,7 @@
  * Description: Model for the Interesse entity.
  * Author: Camilla Ucci de Menezes
  * Creation Date: 05/09/2024
- * Last Updated: 05/09/2024
+ * Last Updated: 18/10/2026
  */
 package blomera.praceando.praceandoapipg.model;
 
@@ -22,6 +22,10 @@ import java.time.LocalDateTime;
 @ToString
 @EqualsAndHashCode
 @Entity(name = "interesse")
+@Table(name = "interesse", indexes = {
+        @Index(name = "idx_interesse_consumidor_evento", columnList = "cd_consumidor, cd_evento"),
+        @Index(name = "idx_interesse_evento", columnList = "cd_evento")
+})
 @Schema(description = "Representa o interesse de um consumidor em um evento no sistema Praceando.")
 public class Interesse {
     @Id
@@ -0,0 +1,68 @@
+/*
+ * Class: EventoDTORowMapper
+ * Description: RowMapper for EventoDTO rows read through JDBC.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.repository;
+
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Converte linhas no formato (id_evento, nm_evento, nm_local, dt_inicio, hr_inicio, dt_fim, hr_fim, tags)
+ * em EventoDTO, lendo cada coluna já no tipo final pelo índice.
+ * Os nomes de tag se repetem em praticamente todas as linhas, então são internados no próprio mapper
+ * para que todas as listas compartilhem as mesmas instâncias de String.
+ */
+public class EventoDTORowMapper implements RowMapper<EventoDTO> {
+
+    private final ConcurrentMap<String, String> tagsInternadas = new ConcurrentHashMap<>();
+
+    @Override
+    public EventoDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new EventoDTO(
+                rs.getLong(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getObject(4, LocalDate.class),
+                rs.getObject(5, LocalTime.class),
+                rs.getObject(6, LocalDate.class),
+                rs.getObject(7, LocalTime.class),
+                mapearTags(rs.getArray(8)));
+    }
+
+    private List<String> mapearTags(Array array) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>(0);
+        }
+        try {
+            String[] valores = (String[]) array.getArray();
+            List<String> tags = new ArrayList<>(valores.length);
+            for (String valor : valores) {
+                tags.add(internar(valor));
+            }
+            return tags;
+        } finally {
+            array.free();
+        }
+    }
+
+    private String internar(String tag) {
+        if (tag == null) {
+            return null;
+        }
+        String existente = tagsInternadas.putIfAbsent(tag, tag);
+        return existente != null ? existente : tag;
+    }
+}
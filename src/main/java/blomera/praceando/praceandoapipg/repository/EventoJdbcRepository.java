@@ -0,0 +1,366 @@
+/*
+ * Class: EventoJdbcRepository
+ * Description: JDBC read path for EventoDTO listings.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.repository;
+
+import blomera.praceando.praceandoapipg.dto.CalendarioMesDTO;
+import blomera.praceando.praceandoapipg.dto.EventoCursor;
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import blomera.praceando.praceandoapipg.dto.FacetasDTO;
+import blomera.praceando.praceandoapipg.dto.InteresseStatusDTO;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Consultas de listagem de eventos com suas tags, mapeadas direto do ResultSet para EventoDTO
+ * sem passar pelo mapeamento de Object[] das native queries do Hibernate.
+ */
+@Repository
+public class EventoJdbcRepository {
+
+    private static final String SELECT_EVENTO_COM_TAGS = "SELECT e.id_evento, e.nm_evento, l.nm_local, e.dt_inicio, e.hr_inicio, e.dt_fim, e.hr_fim, array_agg(t.nm_tag) AS tags " +
+            "FROM evento e " +
+            "JOIN local l ON l.id_local = e.cd_local " +
+            "JOIN evento_tag et ON et.cd_evento = e.id_evento " +
+            "JOIN tag t ON t.id_tag = et.cd_tag ";
+
+    private static final String GROUP_BY_EVENTO = "GROUP BY e.id_evento, e.nm_evento, l.nm_local, e.dt_inicio, e.hr_inicio, e.dt_fim, e.hr_fim ";
+
+    private static final String PAGINA = "AND (e.dt_inicio, e.id_evento) > (:afterData, :afterId) " +
+            GROUP_BY_EVENTO +
+            "ORDER BY e.dt_inicio, e.id_evento " +
+            "LIMIT :limit";
+
+    private static final String SQL_POR_IDS = SELECT_EVENTO_COM_TAGS +
+            "WHERE e.id_evento IN (:ids) " +
+            "AND e.dt_desativacao IS NULL " +
+            GROUP_BY_EVENTO;
+
+    private static final String SQL_POR_ANUNCIANTE = SELECT_EVENTO_COM_TAGS +
+            "WHERE e.cd_anunciante = :idAnunciante " +
+            "AND e.dt_desativacao IS NULL " +
+            PAGINA;
+
+    private static final String SQL_POR_DATA = SELECT_EVENTO_COM_TAGS +
+            "WHERE :data BETWEEN e.dt_inicio AND e.dt_fim " +
+            "AND e.dt_desativacao IS NULL " +
+            PAGINA;
+
+    private static final String SQL_POR_TAG = SELECT_EVENTO_COM_TAGS +
+            "WHERE e.id_evento IN (SELECT et2.cd_evento FROM evento_tag et2 WHERE et2.cd_tag = :idTag) " +
+            "AND e.dt_desativacao IS NULL " +
+            PAGINA;
+
+    private static final String SQL_POR_PERIODO = SELECT_EVENTO_COM_TAGS +
+            "WHERE e.dt_inicio <= :fim AND e.dt_fim >= :inicio " +
+            "AND e.dt_desativacao IS NULL " +
+            GROUP_BY_EVENTO +
+            "ORDER BY e.dt_inicio, e.id_evento";
+
+    private static final String SQL_CALENDARIO = "SELECT d.dia, et.cd_tag, GROUPING(et.cd_tag) AS total, COUNT(DISTINCT e.id_evento) AS qt_eventos " +
+            "FROM (SELECT CAST(g AS date) AS dia FROM generate_series(CAST(:inicio AS date), CAST(:fim AS date), interval '1 day') AS g) d " +
+            "JOIN evento e ON e.dt_inicio <= d.dia AND e.dt_fim >= d.dia " +
+            "JOIN local l ON l.id_local = e.cd_local " +
+            "JOIN evento_tag et ON et.cd_evento = e.id_evento " +
+            "WHERE e.dt_inicio <= :fim AND e.dt_fim >= :inicio " +
+            "AND e.dt_desativacao IS NULL " +
+            "GROUP BY GROUPING SETS ((d.dia), (d.dia, et.cd_tag))";
+
+    private static final String SQL_FACETAS = "SELECT et.cd_tag, e.cd_local, e.dt_inicio, GROUPING(et.cd_tag) AS sem_tag, GROUPING(e.cd_local) AS sem_local, " +
+            "COUNT(DISTINCT e.id_evento) AS qt_eventos " +
+            "FROM evento e " +
+            "JOIN local l ON l.id_local = e.cd_local " +
+            "%s " +
+            "WHERE e.dt_desativacao IS NULL " +
+            "AND %s " +
+            "GROUP BY GROUPING SETS ((et.cd_tag), (e.cd_local), (e.dt_inicio))";
+
+    /** Listagens com SELECT_EVENTO_COM_TAGS só trazem eventos com alguma tag. */
+    private static final String JUNCAO_TAGS = "JOIN evento_tag et ON et.cd_evento = e.id_evento JOIN tag t ON t.id_tag = et.cd_tag";
+
+    /** A busca textual lê as tags em um subselect e também traz eventos sem tag. */
+    private static final String JUNCAO_TAGS_OPCIONAL = "LEFT JOIN (evento_tag et JOIN tag t ON t.id_tag = et.cd_tag) ON et.cd_evento = e.id_evento";
+
+    private static final String FILTRO_TAG = "e.id_evento IN (SELECT et2.cd_evento FROM evento_tag et2 WHERE et2.cd_tag = ?)";
+
+    private static final String FILTRO_ANUNCIANTE = "e.cd_anunciante = ?";
+
+    private static final String FILTRO_DATA = "CAST(? AS date) BETWEEN e.dt_inicio AND e.dt_fim";
+
+    private static final String FILTRO_BUSCA_TEXTUAL = "e.ts_busca @@ websearch_to_tsquery('portuguese', FNC_UNACCENT_IMUTAVEL(?))";
+
+    private static final String FILTRO_IDS = "e.id_evento = ANY (?)";
+
+    private static final String SQL_INTERESSE_POR_IDS = "SELECT e.id_evento, e.qt_interesse, " +
+            "EXISTS (SELECT 1 FROM interesse i WHERE i.cd_evento = e.id_evento AND i.cd_consumidor = :idUsuario) " +
+            "FROM evento e " +
+            "WHERE e.id_evento IN (:ids)";
+
+    private static final String SQL_INTERESSE_POR_IDS_ATIVOS = SQL_INTERESSE_POR_IDS + " AND e.dt_desativacao IS NULL";
+
+    /**
+     * Sinal de versão de um conjunto de eventos: muda quando um evento entra ou sai do conjunto (contagem e soma dos ids)
+     * ou quando o evento, o seu local ou alguma tag é atualizado.
+     */
+    private static final String SELECT_VERSAO = "SELECT count(*), coalesce(sum(e.id_evento), 0), max(e.dt_atualizacao), max(l.dt_atualizacao), " +
+            "(SELECT max(t.dt_atualizacao) FROM tag t) " +
+            "FROM evento e " +
+            "JOIN local l ON l.id_local = e.cd_local ";
+
+    private static final String SQL_VERSAO_POR_IDS = SELECT_VERSAO +
+            "WHERE e.id_evento IN (:ids) " +
+            "AND e.dt_desativacao IS NULL";
+
+    private static final String SQL_VERSAO_POR_ANUNCIANTE = SELECT_VERSAO +
+            "WHERE e.cd_anunciante = :idAnunciante " +
+            "AND e.dt_desativacao IS NULL";
+
+    private static final String SQL_VERSAO_POR_DATA = SELECT_VERSAO +
+            "WHERE :data BETWEEN e.dt_inicio AND e.dt_fim " +
+            "AND e.dt_desativacao IS NULL";
+
+    private static final String SQL_VERSAO_POR_TAG = SELECT_VERSAO +
+            "WHERE e.id_evento IN (SELECT et2.cd_evento FROM evento_tag et2 WHERE et2.cd_tag = :idTag) " +
+            "AND e.dt_desativacao IS NULL";
+
+    private static final String SQL_EXPORTAR_EVENTOS = "SELECT e.id_evento, e.nm_evento, l.nm_local, e.dt_inicio, e.hr_inicio, e.dt_fim, e.hr_fim, " +
+            "ARRAY(SELECT t.nm_tag FROM evento_tag et JOIN tag t ON t.id_tag = et.cd_tag WHERE et.cd_evento = e.id_evento) AS tags " +
+            "FROM evento e " +
+            "JOIN local l ON l.id_local = e.cd_local " +
+            "WHERE e.dt_desativacao IS NULL " +
+            "AND EXISTS (SELECT 1 FROM evento_tag et WHERE et.cd_evento = e.id_evento) " +
+            "ORDER BY e.id_evento";
+
+    private static final String SQL_BUSCA_TEXTUAL = "SELECT e.id_evento, e.nm_evento, l.nm_local, e.dt_inicio, e.hr_inicio, e.dt_fim, e.hr_fim, " +
+            "ARRAY(SELECT t.nm_tag FROM evento_tag et JOIN tag t ON t.id_tag = et.cd_tag WHERE et.cd_evento = e.id_evento) AS tags " +
+            "FROM evento e " +
+            "JOIN local l ON l.id_local = e.cd_local " +
+            "CROSS JOIN websearch_to_tsquery('portuguese', FNC_UNACCENT_IMUTAVEL(:termo)) AS consulta " +
+            "WHERE e.ts_busca @@ consulta " +
+            "AND e.dt_desativacao IS NULL " +
+            "ORDER BY ts_rank(e.ts_busca, consulta) DESC, e.id_evento " +
+            "LIMIT :limit OFFSET :offset";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EventoDTORowMapper rowMapper = new EventoDTORowMapper();
+
+    public EventoJdbcRepository(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    public List<EventoDTO> findAllWithTagsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return namedParameterJdbcTemplate.query(SQL_POR_IDS, new MapSqlParameterSource("ids", ids),
+                new RowMapperResultSetExtractor<>(rowMapper, ids.size()));
+    }
+
+    public List<EventoDTO> findEventosByAnuncianteWithTags(Long idAnunciante, EventoCursor after, int limit) {
+        MapSqlParameterSource params = pagina(after, limit).addValue("idAnunciante", idAnunciante);
+        return namedParameterJdbcTemplate.query(SQL_POR_ANUNCIANTE, params, new RowMapperResultSetExtractor<>(rowMapper, limit));
+    }
+
+    public List<EventoDTO> findEventosByDate(LocalDate data, EventoCursor after, int limit) {
+        MapSqlParameterSource params = pagina(after, limit).addValue("data", data);
+        return namedParameterJdbcTemplate.query(SQL_POR_DATA, params, new RowMapperResultSetExtractor<>(rowMapper, limit));
+    }
+
+    public List<EventoDTO> findEventosByTagWithTags(Long idTag, EventoCursor after, int limit) {
+        MapSqlParameterSource params = pagina(after, limit).addValue("idTag", idTag);
+        return namedParameterJdbcTemplate.query(SQL_POR_TAG, params, new RowMapperResultSetExtractor<>(rowMapper, limit));
+    }
+
+    /**
+     * Todos os eventos ativos em algum dia entre inicio e fim (inclusive), ordenados por data de início.
+     */
+    public List<EventoDTO> findEventosNoPeriodo(LocalDate inicio, LocalDate fim) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("inicio", inicio)
+                .addValue("fim", fim);
+        return namedParameterJdbcTemplate.query(SQL_POR_PERIODO, params, rowMapper);
+    }
+
+    /**
+     * Quantidade de eventos ativos em cada dia do mês, no total e por tag, em uma única consulta:
+     * generate_series gera os dias, a sobreposição de períodos liga cada dia aos seus eventos
+     * e os GROUPING SETS produzem as duas contagens de uma vez.
+     */
+    public CalendarioMesDTO findCalendario(YearMonth mes) {
+        int dias = mes.lengthOfMonth();
+        int[] total = new int[dias];
+        Map<Long, int[]> porTag = new HashMap<>();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("inicio", mes.atDay(1))
+                .addValue("fim", mes.atEndOfMonth());
+        namedParameterJdbcTemplate.query(SQL_CALENDARIO, params, (RowCallbackHandler) rs -> {
+            int dia = rs.getObject(1, LocalDate.class).getDayOfMonth() - 1;
+            if (rs.getInt(3) == 1) {
+                total[dia] = rs.getInt(4);
+            } else {
+                porTag.computeIfAbsent(rs.getLong(2), k -> new int[dias])[dia] = rs.getInt(4);
+            }
+        });
+        return new CalendarioMesDTO(mes.getYear(), mes.getMonthValue(), total, porTag);
+    }
+
+    public FacetasDTO facetasPorTag(Long idTag) {
+        return facetas(JUNCAO_TAGS, FILTRO_TAG, idTag);
+    }
+
+    public FacetasDTO facetasPorAnunciante(Long idAnunciante) {
+        return facetas(JUNCAO_TAGS, FILTRO_ANUNCIANTE, idAnunciante);
+    }
+
+    public FacetasDTO facetasPorData(LocalDate data) {
+        return facetas(JUNCAO_TAGS, FILTRO_DATA, data);
+    }
+
+    public FacetasDTO facetasPorBuscaTextual(String termo) {
+        return facetas(JUNCAO_TAGS_OPCIONAL, FILTRO_BUSCA_TEXTUAL, termo);
+    }
+
+    /**
+     * Facetas de um conjunto de eventos já resolvido nos índices em memória.
+     */
+    public FacetasDTO facetasPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new FacetasDTO(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+        }
+        return facetas(JUNCAO_TAGS, FILTRO_IDS, ids);
+    }
+
+    /**
+     * Facetas de todos os eventos ativos que atendem ao filtro, em uma única consulta agrupada: os GROUPING SETS
+     * contam por tag, por local e por dia de início na mesma passada sobre o conjunto. A junção com as tags segue a da
+     * listagem correspondente, para que um evento entre nas facetas exatamente quando pode entrar nas páginas.
+     * É uma segunda consulta, feita depois da página e só quando as facetas são pedidas.
+     * Parâmetros do tipo Collection são enviados como array de ids.
+     */
+    private FacetasDTO facetas(String juncaoTags, String filtro, Object... parametros) {
+        List<long[]> porTag = new ArrayList<>();
+        List<long[]> porLocal = new ArrayList<>();
+        Map<LocalDate, Long> porDia = new TreeMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(String.format(SQL_FACETAS, juncaoTags, filtro));
+            for (int i = 0; i < parametros.length; i++) {
+                if (parametros[i] instanceof Collection<?> ids) {
+                    SqlArrays.bind(ps, i + 1, SqlArrays.BIGINT, ids);
+                } else {
+                    ps.setObject(i + 1, parametros[i]);
+                }
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            if (rs.getInt(4) == 0) {
+                long idTag = rs.getLong(1);
+                if (!rs.wasNull()) porTag.add(new long[]{idTag, rs.getLong(6)});
+            } else if (rs.getInt(5) == 0) {
+                porLocal.add(new long[]{rs.getLong(2), rs.getLong(6)});
+            } else {
+                porDia.put(rs.getObject(3, LocalDate.class), rs.getLong(6));
+            }
+        });
+        return new FacetasDTO(porQuantidade(porTag), porQuantidade(porLocal), porDia);
+    }
+
+    private static Map<Long, Long> porQuantidade(List<long[]> contagens) {
+        contagens.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]));
+        Map<Long, Long> ordenado = new LinkedHashMap<>(contagens.size() * 2);
+        contagens.forEach(contagem -> ordenado.put(contagem[0], contagem[1]));
+        return ordenado;
+    }
+
+    /**
+     * Busca textual (nome e descrição, sem acentos, com radicais em português) ordenada por relevância.
+     * Usa a coluna ts_busca e o índice GIN criados por db/evento-busca.sql.
+     */
+    public List<EventoDTO> searchEventos(String termo, int offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("termo", termo)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return namedParameterJdbcTemplate.query(SQL_BUSCA_TEXTUAL, params, new RowMapperResultSetExtractor<>(rowMapper, limit));
+    }
+
+    /**
+     * Percorre todos os eventos ativos em ordem de id, entregando um evento por vez ao consumidor.
+     * Deve ser chamado dentro de uma transação para que o fetch size abra um cursor no servidor.
+     */
+    public void streamAllWithTags(int fetchSize, Consumer<EventoDTO> consumidor) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement preparedStatement = con.prepareStatement(SQL_EXPORTAR_EVENTOS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(fetchSize);
+            return preparedStatement;
+        }, (RowCallbackHandler) rs -> consumidor.accept(rowMapper.mapRow(rs, rs.getRow())));
+    }
+
+    /**
+     * Quantidade de interesses de cada evento e se o usuário demonstrou interesse nele, em uma única consulta.
+     * Eventos inexistentes não aparecem no mapa, nem os desativados quando {@code incluirDesativados} é false.
+     */
+    public Map<Long, InteresseStatusDTO> findInteresseStatus(List<Long> ids, Long idUsuario, boolean incluirDesativados) {
+        Map<Long, InteresseStatusDTO> status = new LinkedHashMap<>(ids.size() * 2);
+        if (ids.isEmpty()) {
+            return status;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("idUsuario", idUsuario);
+        namedParameterJdbcTemplate.query(incluirDesativados ? SQL_INTERESSE_POR_IDS : SQL_INTERESSE_POR_IDS_ATIVOS, params, (RowCallbackHandler) rs ->
+                status.put(rs.getLong(1), new InteresseStatusDTO(rs.getInt(2), rs.getBoolean(3))));
+        return status;
+    }
+
+    public String versaoPorIds(List<Long> ids) {
+        return versao(SQL_VERSAO_POR_IDS, new MapSqlParameterSource("ids", ids));
+    }
+
+    public String versaoPorAnunciante(Long idAnunciante) {
+        return versao(SQL_VERSAO_POR_ANUNCIANTE, new MapSqlParameterSource("idAnunciante", idAnunciante));
+    }
+
+    public String versaoPorData(LocalDate data) {
+        return versao(SQL_VERSAO_POR_DATA, new MapSqlParameterSource("data", data));
+    }
+
+    public String versaoPorTag(Long idTag) {
+        return versao(SQL_VERSAO_POR_TAG, new MapSqlParameterSource("idTag", idTag));
+    }
+
+    private String versao(String sql, MapSqlParameterSource params) {
+        return namedParameterJdbcTemplate.queryForObject(sql, params, (rs, rowNum) ->
+                rs.getLong(1) + ":" + rs.getLong(2) + ":" + rs.getString(3) + ":" + rs.getString(4) + ":" + rs.getString(5));
+    }
+
+    private MapSqlParameterSource pagina(EventoCursor after, int limit) {
+        return new MapSqlParameterSource()
+                .addValue("afterData", after.getDataInicio())
+                .addValue("afterId", after.getIdEvento())
+                .addValue("limit", limit);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Class: CalendarioService
+ * Description: Per-day event counts of a month, cached per month.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.dto.CalendarioDiaDTO;
+import blomera.praceando.praceandoapipg.dto.CalendarioMesDTO;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.repository.EventoJdbcRepository;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Calendário mensal com a quantidade de eventos ativos por dia, opcionalmente de uma tag.
+ * Cada mês é calculado por uma única consulta e guardado no cache "calendario" (Caffeine + Redis);
+ * a criação, alteração, desativação ou exclusão de um evento invalida só os meses cobertos pelo período
+ * anterior e pelo novo período do evento.
+ */
+@Service
+public class CalendarioService {
+
+    public static final String CACHE = "calendario";
+
+    private static final String SQL_PERIODO_EVENTOS = "SELECT e.dt_inicio, e.dt_fim FROM evento e WHERE e.id_evento = ANY (?)";
+
+    private final EventoJdbcRepository eventoJdbcRepository;
+    private final EventoIntervaloIndexService eventoIntervaloIndexService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache cache;
+
+    public CalendarioService(EventoJdbcRepository eventoJdbcRepository, EventoIntervaloIndexService eventoIntervaloIndexService,
+                             JdbcTemplate jdbcTemplate, CacheManager cacheManager) {
+        this.eventoJdbcRepository = eventoJdbcRepository;
+        this.eventoIntervaloIndexService = eventoIntervaloIndexService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = cacheManager.getCache(CACHE);
+    }
+
+    /**
+     * @param idTag se informado, conta apenas os eventos com essa tag.
+     * @return um item por dia do mês, inclusive os dias sem eventos.
+     */
+    public List<CalendarioDiaDTO> getCalendario(int ano, int mes, Long idTag) {
+        if (mes < 1 || mes > 12 || ano < 1 || ano > 9999) {
+            throw new IllegalArgumentException("Ano ou mês inválido.");
+        }
+        YearMonth anoMes = YearMonth.of(ano, mes);
+        CalendarioMesDTO calendario = cache.get(anoMes.toString(), () -> eventoJdbcRepository.findCalendario(anoMes));
+
+        int[] contagens = idTag == null ? calendario.getTotal() : calendario.getPorTag().get(idTag);
+        List<CalendarioDiaDTO> dias = new ArrayList<>(anoMes.lengthOfMonth());
+        for (int dia = 1; dia <= anoMes.lengthOfMonth(); dia++) {
+            dias.add(new CalendarioDiaDTO(anoMes.atDay(dia), contagens != null ? contagens[dia - 1] : 0));
+        }
+        return dias;
+    }
+
+    /**
+     * Roda antes do EventoIntervaloIndexService para ainda ler o período anterior do evento no índice.
+     * Alterações vindas de outras instâncias já chegam invalidadas pelo próprio cache de dois níveis.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        if (evento.isRemoto()) {
+            return;
+        }
+        Set<YearMonth> meses = new HashSet<>();
+        for (Long idEvento : evento.getIdsEventos()) {
+            eventoIntervaloIndexService.getIntervalo(idEvento).ifPresent(intervalo ->
+                    adicionarMeses(meses, intervalo.getDtInicio(), LocalDateTime.ofEpochSecond(intervalo.getFim(), 0, ZoneOffset.UTC).toLocalDate()));
+        }
+        jdbcTemplate.query(SQL_PERIODO_EVENTOS, ps -> SqlArrays.bind(ps, 1, SqlArrays.BIGINT, evento.getIdsEventos()), rs -> {
+            adicionarMeses(meses, rs.getObject(1, LocalDate.class), rs.getObject(2, LocalDate.class));
+        });
+        meses.forEach(mes -> cache.evict(mes.toString()));
+    }
+
+    private static void adicionarMeses(Set<YearMonth> meses, LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null) {
+            return;
+        }
+        for (YearMonth mes = YearMonth.from(inicio); !mes.isAfter(YearMonth.from(fim)); mes = mes.plusMonths(1)) {
+            meses.add(mes);
+        }
+    }
+}
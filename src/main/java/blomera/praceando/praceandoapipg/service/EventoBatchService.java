@@ -0,0 +1,244 @@
+/*
+ * Class: EventoBatchService
+ * Description: Bulk event creation with set-based validation and JDBC batch inserts.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.dto.EventoBatchResultadoDTO;
+import blomera.praceando.praceandoapipg.dto.EventoRequest;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.model.Evento;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cadastro de vários eventos em uma requisição. Locais e anunciantes de todo o lote são validados com uma consulta cada,
+ * as tags pelo TagDicionarioService e os campos pelas anotações de Evento; os eventos válidos e suas tags são inseridos
+ * em uma única transação, com JDBC batch na mesma conexão. Se o banco rejeitar o batch, ele é desfeito até o savepoint
+ * e os itens são reinseridos um a um, cada um sob o seu savepoint, para que só os itens com erro fiquem de fora.
+ * Itens inválidos não impedem os demais e voltam com a mensagem de erro na posição correspondente.
+ */
+@Service
+public class EventoBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoBatchService.class);
+
+    public static final int TAMANHO_MAXIMO_LOTE = 500;
+
+    private static final String SQL_LOCAIS_ATIVOS = "SELECT l.id_local FROM local l WHERE l.id_local = ANY (?) AND l.dt_desativacao IS NULL";
+
+    private static final String SQL_ANUNCIANTES = "SELECT a.id_anunciante FROM anunciante a WHERE a.id_anunciante = ANY (?)";
+
+    private static final String SQL_INSERIR_EVENTO = "INSERT INTO evento (nm_evento, ds_evento, dt_inicio, hr_inicio, dt_fim, hr_fim, url_documentacao, " +
+            "cd_local, cd_anunciante, qt_interesse, dt_atualizacao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, now())";
+
+    private static final String SQL_INSERIR_EVENTO_TAG = "INSERT INTO evento_tag (cd_evento, cd_tag) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TagDicionarioService tagDicionarioService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventoBatchService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, TagDicionarioService tagDicionarioService,
+                              Validator validator, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tagDicionarioService = tagDicionarioService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @return um resultado por item, na ordem recebida, com o id do evento criado ou o erro de validação.
+     */
+    public List<EventoBatchResultadoDTO> saveEventos(List<EventoRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um evento.");
+        }
+        if (requests.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Informe no máximo " + TAMANHO_MAXIMO_LOTE + " eventos por requisição.");
+        }
+
+        Set<Long> idsLocais = new HashSet<>();
+        Set<Long> idsAnunciantes = new HashSet<>();
+        for (EventoRequest request : requests) {
+            Evento evento = request != null ? request.getEvento() : null;
+            if (evento == null) {
+                continue;
+            }
+            if (evento.getLocal() != null) idsLocais.add(evento.getLocal().getId());
+            if (evento.getAnunciante() != null && evento.getAnunciante().getId() != null) idsAnunciantes.add(evento.getAnunciante().getId());
+        }
+
+        Set<Long> locais = consultarIds(SQL_LOCAIS_ATIVOS, idsLocais);
+        Set<Long> anunciantes = consultarIds(SQL_ANUNCIANTES, idsAnunciantes);
+
+        List<EventoBatchResultadoDTO> resultados = new ArrayList<>(requests.size());
+        Map<Integer, List<Long>> tagsValidos = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String erro = validar(requests.get(i), locais, anunciantes);
+            if (erro == null) {
+                try {
+                    tagsValidos.put(i, tagDicionarioService.resolverIds(requests.get(i).getTags()));
+                } catch (IllegalArgumentException e) {
+                    erro = e.getMessage();
+                }
+            }
+            resultados.add(new EventoBatchResultadoDTO(i, null, erro));
+        }
+        if (tagsValidos.isEmpty()) {
+            return resultados;
+        }
+
+        List<Long> ids = transactionTemplate.execute(status -> inserir(requests, tagsValidos, resultados));
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new EventoAlteradoEvent(ids, EventoAlteradoEvent.Tipo.CRIADO));
+        }
+        return resultados;
+    }
+
+    private String validar(EventoRequest request, Set<Long> locais, Set<Long> anunciantes) {
+        Evento evento = request != null ? request.getEvento() : null;
+        if (evento == null) {
+            return "Evento não informado.";
+        }
+        Set<ConstraintViolation<Evento>> violacoes = validator.validate(evento);
+        if (!violacoes.isEmpty()) {
+            return violacoes.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(" "));
+        }
+        if (evento.getNmEvento() == null || evento.getDtInicio() == null || evento.getHrInicio() == null
+                || evento.getDtFim() == null || evento.getHrFim() == null) {
+            return "Nome, data e hora de início e de fim são obrigatórios.";
+        }
+        if (evento.getDtFim().atTime(evento.getHrFim()).isBefore(evento.getDtInicio().atTime(evento.getHrInicio()))) {
+            return "O fim do evento deve ser posterior ao início.";
+        }
+        if (evento.getLocal() == null || !locais.contains(evento.getLocal().getId())) {
+            return "Local não encontrado.";
+        }
+        if (evento.getAnunciante() == null || !anunciantes.contains(evento.getAnunciante().getId())) {
+            return "Anunciante não encontrado.";
+        }
+        if (request.getTags() == null || request.getTags().isEmpty()) {
+            return "Informe ao menos uma tag.";
+        }
+        return null;
+    }
+
+    /**
+     * Insere os eventos válidos em batch na conexão da transação e preenche o id ou o erro do banco no resultado de cada
+     * item. Só quando o batch falha os itens são repetidos um a um.
+     * @return ids dos eventos criados.
+     */
+    private List<Long> inserir(List<EventoRequest> requests, Map<Integer, List<Long>> tagsValidos, List<EventoBatchResultadoDTO> resultados) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            List<Integer> indices = new ArrayList<>(tagsValidos.keySet());
+            Savepoint lote = con.setSavepoint();
+            try {
+                List<Long> ids = inserirLote(con, requests, indices, tagsValidos);
+                con.releaseSavepoint(lote);
+                for (int k = 0; k < indices.size(); k++) {
+                    resultados.get(indices.get(k)).setIdEvento(ids.get(k));
+                }
+                return ids;
+            } catch (BatchUpdateException e) {
+                con.rollback(lote);
+                logger.warn("Lote de {} eventos rejeitado pelo banco; inserindo item a item.", indices.size(), e);
+            }
+
+            List<Long> ids = new ArrayList<>(indices.size());
+            for (int i : indices) {
+                Savepoint item = con.setSavepoint();
+                try {
+                    Long idEvento = inserirLote(con, requests, List.of(i), tagsValidos).get(0);
+                    con.releaseSavepoint(item);
+                    ids.add(idEvento);
+                    resultados.get(i).setIdEvento(idEvento);
+                } catch (SQLException e) {
+                    con.rollback(item);
+                    resultados.get(i).setErro("Não foi possível inserir o evento: " + e.getMessage());
+                }
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * Insere os eventos das posições informadas em um batch (obtendo os ids gerados) e depois as suas tags em outro.
+     */
+    private static List<Long> inserirLote(Connection con, List<EventoRequest> requests, List<Integer> indices,
+                                          Map<Integer, List<Long>> tagsValidos) throws SQLException {
+        List<Long> ids = new ArrayList<>(indices.size());
+        try (PreparedStatement ps = con.prepareStatement(SQL_INSERIR_EVENTO, new String[]{"id_evento"})) {
+            for (int i : indices) {
+                Evento evento = requests.get(i).getEvento();
+                ps.setString(1, evento.getNmEvento());
+                ps.setString(2, evento.getDsEvento());
+                ps.setObject(3, evento.getDtInicio());
+                ps.setObject(4, evento.getHrInicio());
+                ps.setObject(5, evento.getDtFim());
+                ps.setObject(6, evento.getHrFim());
+                ps.setString(7, evento.getUrlDocumentacao());
+                ps.setLong(8, evento.getLocal().getId());
+                ps.setLong(9, evento.getAnunciante().getId());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+
+        try (PreparedStatement ps = con.prepareStatement(SQL_INSERIR_EVENTO_TAG)) {
+            for (int k = 0; k < indices.size(); k++) {
+                for (Long idTag : tagsValidos.get(indices.get(k))) {
+                    ps.setLong(1, ids.get(k));
+                    ps.setLong(2, idTag);
+                    ps.addBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        return ids;
+    }
+
+    /**
+     * Executa uma consulta de ids com um único parâmetro array (= ANY (?)).
+     */
+    private Set<Long> consultarIds(String sql, Collection<Long> ids) {
+        Set<Long> resultado = new HashSet<>();
+        if (ids.isEmpty()) {
+            return resultado;
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            SqlArrays.bind(ps, 1, SqlArrays.BIGINT, ids);
+            return ps;
+        }, rs -> {
+            resultado.add(rs.getLong(1));
+        });
+        return resultado;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Class: EventoGeoIndexService
+ * Description: In-memory spatial index of active locais and their active events.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import blomera.praceando.praceandoapipg.event.LocalAlteradoEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grade geográfica em memória com as coordenadas dos locais ativos (células de CELULA_GRAUS graus),
+ * mais os eventos ativos de cada local. Uma busca por raio visita só as células do retângulo que envolve
+ * o círculo e calcula a distância real (haversine) apenas para os locais dessas células.
+ */
+@Service
+public class EventoGeoIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoGeoIndexService.class);
+
+    /**
+     * Tamanho da célula da grade, aproximadamente 2,2 km de latitude.
+     */
+    private static final double CELULA_GRAUS = 0.02;
+    private static final double RAIO_TERRA_KM = 6371.0088;
+    private static final double KM_POR_GRAU_LATITUDE = 111.32;
+
+    private static final String SQL_LOCAIS = "SELECT l.id_local, l.nr_lat, l.nr_long FROM local l " +
+            "WHERE l.dt_desativacao IS NULL AND l.nr_lat IS NOT NULL AND l.nr_long IS NOT NULL";
+
+    private static final String SQL_EVENTOS = "SELECT e.id_evento, e.cd_local FROM evento e " +
+            "WHERE e.dt_desativacao IS NULL AND e.cd_local IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Ponto> locais = new HashMap<>();
+    private Map<Long, List<Ponto>> celulas = new HashMap<>();
+    private Map<Long, Set<Long>> eventosPorLocal = new HashMap<>();
+    private Map<Long, Long> localPorEvento = new HashMap<>();
+
+    public EventoGeoIndexService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            Map<Long, Ponto> novosLocais = new HashMap<>();
+            Map<Long, List<Ponto>> novasCelulas = new HashMap<>();
+            jdbcTemplate.query(SQL_LOCAIS, rs -> {
+                Ponto ponto = new Ponto(rs.getLong(1), rs.getDouble(2), rs.getDouble(3));
+                novosLocais.put(ponto.getIdLocal(), ponto);
+                novasCelulas.computeIfAbsent(celula(ponto.getLatitude(), ponto.getLongitude()), k -> new ArrayList<>()).add(ponto);
+            });
+
+            Map<Long, Set<Long>> novosEventosPorLocal = new HashMap<>();
+            Map<Long, Long> novoLocalPorEvento = new HashMap<>();
+            jdbcTemplate.query(SQL_EVENTOS, rs -> {
+                novosEventosPorLocal.computeIfAbsent(rs.getLong(2), k -> new HashSet<>()).add(rs.getLong(1));
+                novoLocalPorEvento.put(rs.getLong(1), rs.getLong(2));
+            });
+
+            lock.writeLock().lock();
+            try {
+                locais = novosLocais;
+                celulas = novasCelulas;
+                eventosPorLocal = novosEventosPorLocal;
+                localPorEvento = novoLocalPorEvento;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Índice geográfico carregado: {} locais, {} eventos ativos.", novosLocais.size(), novoLocalPorEvento.size());
+        } catch (Exception e) {
+            logger.error("Erro ao carregar o índice geográfico dos eventos.", e);
+        }
+    }
+
+    @EventListener
+    public void onLocalAlterado(LocalAlteradoEvent evento) {
+        List<Ponto> atual = jdbcTemplate.query(SQL_LOCAIS + " AND l.id_local = ?",
+                (rs, rowNum) -> new Ponto(rs.getLong(1), rs.getDouble(2), rs.getDouble(3)), evento.getIdLocal());
+
+        lock.writeLock().lock();
+        try {
+            Ponto anterior = locais.remove(evento.getIdLocal());
+            if (anterior != null) {
+                List<Ponto> celula = celulas.get(celula(anterior.getLatitude(), anterior.getLongitude()));
+                if (celula != null) {
+                    celula.remove(anterior);
+                }
+            }
+            if (!atual.isEmpty()) {
+                Ponto ponto = atual.get(0);
+                locais.put(ponto.getIdLocal(), ponto);
+                celulas.computeIfAbsent(celula(ponto.getLatitude(), ponto.getLongitude()), k -> new ArrayList<>()).add(ponto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        Map<Long, Long> locaisAtuais = new HashMap<>();
+        if (evento.getTipo() != EventoAlteradoEvent.Tipo.EXCLUIDO) {
+            jdbcTemplate.query(SQL_EVENTOS + " AND e.id_evento = ANY (?)",
+                    ps -> SqlArrays.bind(ps, 1, SqlArrays.BIGINT, evento.getIdsEventos()),
+                    rs -> {
+                        locaisAtuais.put(rs.getLong(1), rs.getLong(2));
+                    });
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long idEvento : evento.getIdsEventos()) {
+                Long localAnterior = localPorEvento.remove(idEvento);
+                if (localAnterior != null) {
+                    Set<Long> eventos = eventosPorLocal.get(localAnterior);
+                    if (eventos != null) {
+                        eventos.remove(idEvento);
+                    }
+                }
+            }
+            locaisAtuais.forEach((idEvento, idLocal) -> {
+                localPorEvento.put(idEvento, idLocal);
+                eventosPorLocal.computeIfAbsent(idLocal, k -> new HashSet<>()).add(idEvento);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return eventos ativos em locais a até raioKm do ponto, ordenados por distância e depois por id.
+     */
+    public List<EventoDistancia> buscarProximos(double latitude, double longitude, double raioKm) {
+        double deltaLatitude = raioKm / KM_POR_GRAU_LATITUDE;
+        double cosLatitude = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double deltaLongitude = Math.min(raioKm / (KM_POR_GRAU_LATITUDE * cosLatitude), 180);
+
+        long linhaMin = indice(latitude - deltaLatitude);
+        long linhaMax = indice(latitude + deltaLatitude);
+        long colunaMin = indice(longitude - deltaLongitude);
+        long colunaMax = indice(longitude + deltaLongitude);
+
+        List<EventoDistancia> encontrados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long linha = linhaMin; linha <= linhaMax; linha++) {
+                for (long coluna = colunaMin; coluna <= colunaMax; coluna++) {
+                    List<Ponto> pontos = celulas.get(chave(linha, coluna));
+                    if (pontos == null) {
+                        continue;
+                    }
+                    for (Ponto ponto : pontos) {
+                        double distancia = distanciaKm(latitude, longitude, ponto.getLatitude(), ponto.getLongitude());
+                        if (distancia > raioKm) {
+                            continue;
+                        }
+                        Set<Long> eventos = eventosPorLocal.get(ponto.getIdLocal());
+                        if (eventos != null) {
+                            for (Long idEvento : eventos) {
+                                encontrados.add(new EventoDistancia(idEvento, distancia));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        encontrados.sort(Comparator.comparingDouble(EventoDistancia::getDistanciaKm).thenComparingLong(EventoDistancia::getIdEvento));
+        return encontrados;
+    }
+
+    /**
+     * @return distância em km entre dois pontos pela fórmula de haversine.
+     */
+    static double distanciaKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static long indice(double graus) {
+        return (long) Math.floor(graus / CELULA_GRAUS);
+    }
+
+    private static long celula(double latitude, double longitude) {
+        return chave(indice(latitude), indice(longitude));
+    }
+
+    private static long chave(long linha, long coluna) {
+        return (linha << 32) ^ (coluna & 0xFFFFFFFFL);
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static class Ponto {
+        private final long idLocal;
+        private final double latitude;
+        private final double longitude;
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static class EventoDistancia {
+        private final long idEvento;
+        private final double distanciaKm;
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Class: EventoIntervaloIndexService
+ * Description: In-memory interval index over event start/end timestamps.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.dto.EventoCursor;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória dos períodos (início e fim, com data e hora) dos eventos ativos,
+ * usado para responder "o que acontece nesta janela de tempo" sem ir ao Postgres.
+ * Os intervalos ficam em um vetor ordenado por (dt_inicio, id_evento), a mesma ordem do EventoCursor,
+ * com uma árvore de segmentos guardando o maior fim de cada faixa; a busca descarta faixas inteiras
+ * que terminam antes da janela e devolve os eventos já na ordem da paginação.
+ * O vetor não é reconstruído a cada escrita: os eventos alterados ficam em um delta pequeno e ordenado, e as suas
+ * posições antigas no vetor são mascaradas; a busca junta as duas fontes na mesma ordem. O delta é compactado no vetor
+ * quando passa de LIMITE_DELTA eventos ou periodicamente, então o custo de reconstrução é amortizado entre várias escritas.
+ */
+@Service
+public class EventoIntervaloIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoIntervaloIndexService.class);
+
+    private static final String SQL_INTERVALOS = "SELECT e.id_evento, e.dt_inicio, e.hr_inicio, e.dt_fim, e.hr_fim " +
+            "FROM evento e " +
+            "WHERE e.dt_desativacao IS NULL " +
+            "AND e.dt_inicio IS NOT NULL AND e.dt_fim IS NOT NULL";
+
+    /** Quantidade de eventos alterados acumulados no delta a partir da qual ele é compactado no vetor. */
+    private static final int LIMITE_DELTA = 1024;
+
+    private static final Comparator<Intervalo> ORDEM = Comparator.comparing(Intervalo::getDtInicio).thenComparingLong(Intervalo::getIdEvento);
+
+    private static final RowMapper<Intervalo> INTERVALO_ROW_MAPPER = (rs, rowNum) -> Intervalo.of(
+            rs.getLong(1),
+            rs.getObject(2, LocalDate.class),
+            rs.getObject(3, LocalTime.class),
+            rs.getObject(4, LocalDate.class),
+            rs.getObject(5, LocalTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Intervalo> intervalos = new ConcurrentHashMap<>();
+    private volatile Estado estado = new Estado(new Indice(Collections.emptyList()), Collections.emptyNavigableSet(), Collections.emptySet());
+
+    public EventoIntervaloIndexService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            List<Intervalo> carregados = jdbcTemplate.query(SQL_INTERVALOS, INTERVALO_ROW_MAPPER);
+            synchronized (this) {
+                intervalos.clear();
+                carregados.forEach(intervalo -> intervalos.put(intervalo.getIdEvento(), intervalo));
+                compactar();
+            }
+            logger.info("Índice de períodos carregado: {} eventos ativos.", carregados.size());
+        } catch (Exception e) {
+            logger.error("Erro ao carregar o índice de períodos dos eventos.", e);
+        }
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        List<Intervalo> atuais = evento.getTipo() == EventoAlteradoEvent.Tipo.EXCLUIDO
+                ? Collections.emptyList()
+                : jdbcTemplate.query(SQL_INTERVALOS + " AND e.id_evento = ANY (?)",
+                        ps -> SqlArrays.bind(ps, 1, SqlArrays.BIGINT, evento.getIdsEventos()), INTERVALO_ROW_MAPPER);
+
+        synchronized (this) {
+            evento.getIdsEventos().forEach(intervalos::remove);
+            atuais.forEach(intervalo -> intervalos.put(intervalo.getIdEvento(), intervalo));
+
+            Estado atual = estado;
+            if (atual.mascarados.size() + evento.getIdsEventos().size() > LIMITE_DELTA) {
+                compactar();
+                return;
+            }
+            Set<Long> alterados = new HashSet<>(evento.getIdsEventos());
+            NavigableSet<Intervalo> delta = new TreeSet<>(ORDEM);
+            for (Intervalo intervalo : atual.delta) {
+                if (!alterados.contains(intervalo.getIdEvento())) {
+                    delta.add(intervalo);
+                }
+            }
+            delta.addAll(atuais);
+            Set<Long> mascarados = new HashSet<>(atual.mascarados);
+            mascarados.addAll(alterados);
+            estado = new Estado(atual.base, delta, mascarados);
+        }
+    }
+
+    /**
+     * Incorpora o delta pendente ao vetor, para que ele não cresça em períodos de poucas escritas.
+     */
+    @Scheduled(fixedDelayString = "${praceando.intervalo.compactacao:PT1M}", initialDelayString = "${praceando.intervalo.compactacao:PT1M}")
+    public synchronized void compactarSeNecessario() {
+        if (!estado.mascarados.isEmpty()) {
+            compactar();
+        }
+    }
+
+    private synchronized void compactar() {
+        estado = new Estado(new Indice(intervalos.values()), Collections.emptyNavigableSet(), Collections.emptySet());
+    }
+
+    /**
+     * @return o período do evento, se ele estiver ativo no índice.
+     */
+    public Optional<Intervalo> getIntervalo(Long idEvento) {
+        return Optional.ofNullable(intervalos.get(idEvento));
+    }
+
+    /**
+     * @return true se o evento está ativo no índice e ainda não terminou em agora.
+     */
+    public boolean isEmAndamentoOuFuturo(long idEvento, LocalDateTime agora) {
+        Intervalo intervalo = intervalos.get(idEvento);
+        return intervalo != null && intervalo.getFim() >= segundos(agora);
+    }
+
+    /**
+     * Eventos ativos cujo período tem alguma interseção com a janela [inicio, fim], na ordem (dt_inicio, id_evento).
+     * @param after posição a partir da qual buscar (exclusiva).
+     * @param limite quantidade máxima de eventos devolvidos.
+     */
+    public List<Intervalo> buscarNaJanela(LocalDateTime inicio, LocalDateTime fim, EventoCursor after, int limite) {
+        return estado.buscar(segundos(inicio), segundos(fim), fim.toLocalDate().toEpochDay(), after, limite);
+    }
+
+    private static long segundos(LocalDateTime dataHora) {
+        return dataHora.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static class Intervalo {
+        private final long idEvento;
+        private final LocalDate dtInicio;
+        private final long inicio;
+        private final long fim;
+
+        static Intervalo of(long idEvento, LocalDate dtInicio, LocalTime hrInicio, LocalDate dtFim, LocalTime hrFim) {
+            long inicio = segundos(dtInicio.atTime(hrInicio != null ? hrInicio : LocalTime.MIN));
+            long fim = segundos(dtFim.atTime(hrFim != null ? hrFim : LocalTime.MAX));
+            return new Intervalo(idEvento, dtInicio, inicio, Math.max(inicio, fim));
+        }
+    }
+
+    /**
+     * Fotografia imutável do índice: o vetor base, o delta dos eventos alterados desde a última compactação e os ids
+     * cujas posições no vetor base estão desatualizadas.
+     */
+    private static final class Estado {
+        private final Indice base;
+        private final NavigableSet<Intervalo> delta;
+        private final Set<Long> mascarados;
+
+        private Estado(Indice base, NavigableSet<Intervalo> delta, Set<Long> mascarados) {
+            this.base = base;
+            this.delta = delta;
+            this.mascarados = mascarados;
+        }
+
+        /**
+         * Busca no vetor base (sem os mascarados) e no delta, e intercala os dois resultados na ordem (dt_inicio, id_evento).
+         */
+        private List<Intervalo> buscar(long inicio, long fim, long ultimoDia, EventoCursor after, int limite) {
+            List<Intervalo> doBase = base.buscar(inicio, fim, ultimoDia, after, limite, mascarados);
+            if (delta.isEmpty()) {
+                return doBase;
+            }
+
+            List<Intervalo> doDelta = new ArrayList<>();
+            Intervalo posicao = new Intervalo(after.getIdEvento(), after.getDataInicio(), 0, 0);
+            for (Intervalo intervalo : delta.tailSet(posicao, false)) {
+                if (doDelta.size() >= limite || intervalo.getDtInicio().toEpochDay() > ultimoDia) {
+                    break;
+                }
+                if (intervalo.getFim() >= inicio && intervalo.getInicio() <= fim) {
+                    doDelta.add(intervalo);
+                }
+            }
+
+            List<Intervalo> encontrados = new ArrayList<>(Math.min(limite, doBase.size() + doDelta.size()));
+            int i = 0;
+            int j = 0;
+            while (encontrados.size() < limite && (i < doBase.size() || j < doDelta.size())) {
+                if (j >= doDelta.size() || (i < doBase.size() && ORDEM.compare(doBase.get(i), doDelta.get(j)) < 0)) {
+                    encontrados.add(doBase.get(i++));
+                } else {
+                    encontrados.add(doDelta.get(j++));
+                }
+            }
+            return encontrados;
+        }
+    }
+
+    /**
+     * Vetor imutável de intervalos ordenado por (dt_inicio, id_evento) com árvore de segmentos de maior fim.
+     */
+    private static final class Indice {
+        private final Intervalo[] ordenados;
+        private final long[] maiorFim;
+        private final int folhas;
+
+        private Indice(Collection<Intervalo> intervalos) {
+            ordenados = intervalos.toArray(new Intervalo[0]);
+            Arrays.sort(ordenados, ORDEM);
+
+            int tamanho = 1;
+            while (tamanho < ordenados.length) {
+                tamanho <<= 1;
+            }
+            folhas = tamanho;
+            maiorFim = new long[2 * tamanho];
+            Arrays.fill(maiorFim, Long.MIN_VALUE);
+            for (int i = 0; i < ordenados.length; i++) {
+                maiorFim[tamanho + i] = ordenados[i].getFim();
+            }
+            for (int no = tamanho - 1; no >= 1; no--) {
+                maiorFim[no] = Math.max(maiorFim[2 * no], maiorFim[2 * no + 1]);
+            }
+        }
+
+        /**
+         * @param ignorados ids cujas posições no vetor não entram no resultado.
+         */
+        private List<Intervalo> buscar(long inicio, long fim, long ultimoDia, EventoCursor after, int limite, Set<Long> ignorados) {
+            int de = primeiraPosicaoDepois(after.getDataInicio().toEpochDay(), after.getIdEvento());
+            int ate = primeiraPosicaoDepois(ultimoDia, Long.MAX_VALUE);
+            List<Intervalo> encontrados = new ArrayList<>(Math.min(limite, Math.max(0, ate - de)));
+            if (de < ate) {
+                coletar(1, 0, folhas, de, ate, inicio, fim, limite, ignorados, encontrados);
+            }
+            return encontrados;
+        }
+
+        /**
+         * Percorre em ordem as posições de [de, ate) cujo intervalo cruza [inicio, fim],
+         * pulando subárvores cujo maior fim é anterior ao início da janela.
+         */
+        private void coletar(int no, int noDe, int noAte, int de, int ate, long inicio, long fim, int limite, Set<Long> ignorados,
+                             List<Intervalo> encontrados) {
+            if (encontrados.size() >= limite || noAte <= de || noDe >= ate || maiorFim[no] < inicio) {
+                return;
+            }
+            if (noAte - noDe == 1) {
+                Intervalo intervalo = ordenados[noDe];
+                if (intervalo.getInicio() <= fim && !ignorados.contains(intervalo.getIdEvento())) {
+                    encontrados.add(intervalo);
+                }
+                return;
+            }
+            int meio = (noDe + noAte) >>> 1;
+            coletar(2 * no, noDe, meio, de, ate, inicio, fim, limite, ignorados, encontrados);
+            coletar(2 * no + 1, meio, noAte, de, ate, inicio, fim, limite, ignorados, encontrados);
+        }
+
+        /**
+         * @return a primeira posição cuja chave (dia de início, id) é maior que a informada.
+         */
+        private int primeiraPosicaoDepois(long dia, long idEvento) {
+            int baixo = 0;
+            int alto = ordenados.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                Intervalo intervalo = ordenados[meio];
+                long diaMeio = intervalo.getDtInicio().toEpochDay();
+                if (diaMeio < dia || (diaMeio == dia && intervalo.getIdEvento() <= idEvento)) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+}
@@ -3,68 +3,106 @@
  * Description: Service for the Evento entity
  * Author: Camilla Ucci de Menezes
  * Creation Date: 16/09/2024
- * Last Updated: 23/09/2024
+ * Last Updated: 18/10/2026
  */
 
 package blomera.praceando.praceandoapipg.service;
 
+import blomera.praceando.praceandoapipg.cache.EventoCache;
+import blomera.praceando.praceandoapipg.dto.EventoCursor;
 import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import blomera.praceando.praceandoapipg.dto.EventoIdCursor;
+import blomera.praceando.praceandoapipg.dto.EventoProximoDTO;
+import blomera.praceando.praceandoapipg.dto.FacetasDTO;
+import blomera.praceando.praceandoapipg.dto.InteresseStatusDTO;
+import blomera.praceando.praceandoapipg.dto.PageDTO;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
 import blomera.praceando.praceandoapipg.model.Evento;
+import blomera.praceando.praceandoapipg.repository.EventoJdbcRepository;
 import blomera.praceando.praceandoapipg.repository.EventoRepository;
-import blomera.praceando.praceandoapipg.repository.InteresseRepository;
-import org.springframework.cache.annotation.Cacheable;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.CallableStatement;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 
 @Service
 public class EventoService {
 
+    /**
+     * Maior quantidade de eventos devolvida em uma única página.
+     */
+    public static final int TAMANHO_MAXIMO_PAGINA = 200;
+
+    /**
+     * Maior raio aceito na busca por proximidade.
+     */
+    public static final double RAIO_MAXIMO_KM = 50;
+
+    /**
+     * Quantidade de linhas trazidas do cursor do Postgres a cada ida ao banco durante a exportação.
+     */
+    private static final int TAMANHO_LOTE_EXPORTACAO = 500;
+
     private final EventoRepository eventoRepository;
-    private final InteresseRepository interesseRepository;
+    private final EventoJdbcRepository eventoJdbcRepository;
     private final JdbcTemplate jdbcTemplate;
-
-    public EventoService(EventoRepository eventoRepository, JdbcTemplate jdbcTemplate, InteresseRepository interesseRepository) {
+    private final ObjectMapper objectMapper;
+    private final EventoTagIndexService eventoTagIndexService;
+    private final EventoIntervaloIndexService eventoIntervaloIndexService;
+    private final EventoGeoIndexService eventoGeoIndexService;
+    private final EventoCache eventoCache;
+    private final InteresseContadorService interesseContadorService;
+    private final TagDicionarioService tagDicionarioService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventoService(EventoRepository eventoRepository, EventoJdbcRepository eventoJdbcRepository, JdbcTemplate jdbcTemplate,
+                         ObjectMapper objectMapper,
+                         EventoTagIndexService eventoTagIndexService, EventoIntervaloIndexService eventoIntervaloIndexService,
+                         EventoGeoIndexService eventoGeoIndexService, EventoCache eventoCache,
+                         InteresseContadorService interesseContadorService, TagDicionarioService tagDicionarioService,
+                         ApplicationEventPublisher eventPublisher) {
         this.eventoRepository = eventoRepository;
+        this.eventoJdbcRepository = eventoJdbcRepository;
         this.jdbcTemplate = jdbcTemplate;
-        this.interesseRepository = interesseRepository;
+        this.objectMapper = objectMapper;
+        this.eventoTagIndexService = eventoTagIndexService;
+        this.eventoIntervaloIndexService = eventoIntervaloIndexService;
+        this.eventoGeoIndexService = eventoGeoIndexService;
+        this.eventoCache = eventoCache;
+        this.interesseContadorService = interesseContadorService;
+        this.tagDicionarioService = tagDicionarioService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
+     * Busca os eventos pelo cache por evento, indo ao banco só para os ids que não estão nele.
      * @param ids Lista de IDs de evento a serem buscados
-     * @return uma lista de objetos EventoDTO (incluindo tags) se existirem, ou null se não houver eventos para os IDs fornecidos.
+     * @return uma lista de objetos EventoDTO (incluindo tags), na ordem dos IDs, se existirem, ou null se não houver eventos para os IDs fornecidos.
      */
-    @Cacheable(value = "eventos", cacheManager = "cacheManager")
     public List<EventoDTO> getEventosPorIds(List<Long> ids) {
-        List<Object[]> resultados = eventoRepository.findAllWithTagsByIds(ids);
-
-        if (resultados == null || resultados.isEmpty()) {
+        if (ids == null || ids.isEmpty()) {
             return null;
         }
-
-        List<EventoDTO> eventos = new ArrayList<>();
-        for (Object[] resultado : resultados) {
-            Long idEvento = (Long) resultado[0];
-            String nomeEvento = (String) resultado[1];
-            String nomeLocal = (String) resultado[2];
-            LocalDate dataInicio = ((java.sql.Date) resultado[3]).toLocalDate();
-            LocalTime horaInicio = ((java.sql.Time) resultado[4]).toLocalTime();
-            LocalDate dataFim = ((java.sql.Date) resultado[5]).toLocalDate();
-            LocalTime horaFim = ((java.sql.Time) resultado[6]).toLocalTime();
-            String[] tagsArray = (String[]) resultado[7];
-            List<String> tags = Arrays.asList(tagsArray);
-
-            EventoDTO eventoDTO = new EventoDTO(idEvento, nomeEvento, nomeLocal, dataInicio, horaInicio, dataFim, horaFim, tags);
-            eventos.add(eventoDTO);
-        }
-        return eventos;
+        List<EventoDTO> eventos = eventoCache.getAll(ids, eventoJdbcRepository::findAllWithTagsByIds);
+        return eventos.isEmpty() ? null : eventos;
     }
 
 
@@ -77,107 +115,311 @@ public class EventoService {
     }
 
     /**
-     * @return lista de eventos por anunciante.
+     * @param after cursor retornado pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de eventos na página.
+     * @return página de eventos por anunciante, ordenada por data de início.
      */
-    public List<EventoDTO> findEventosByAnunciante(Long idAnunciante) {
-        List<Object[]> resultados = eventoRepository.findEventosByAnuncianteWithTags(idAnunciante);
+    public PageDTO<EventoDTO> findEventosByAnunciante(Long idAnunciante, String after, int limit) {
+        EventoCursor cursor = EventoCursor.decode(after);
+        int tamanho = tamanhoPagina(limit);
+        return paginar(eventoJdbcRepository.findEventosByAnuncianteWithTags(idAnunciante, cursor, tamanho + 1), tamanho);
+    }
 
-        if (resultados == null) {
-            return null;
+    /**
+     * @param data data na qual os eventos serão buscados
+     * @param after cursor retornado pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de eventos na página.
+     * @return página de eventos ativos na data, ordenada por data de início.
+     */
+    public PageDTO<EventoDTO> findEventosByDateRange(LocalDate data, String after, int limit) {
+        EventoCursor cursor = EventoCursor.decode(after);
+        int tamanho = tamanhoPagina(limit);
+        return paginar(eventoJdbcRepository.findEventosByDate(data, cursor, tamanho + 1), tamanho);
+    }
+
+    /**
+     * @param after cursor retornado pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de eventos na página.
+     * @return página de eventos por tag, ordenada por data de início.
+     */
+    public PageDTO<EventoDTO> findEventosByTag(Long idTag, String after, int limit) {
+        EventoCursor cursor = EventoCursor.decode(after);
+        int tamanho = tamanhoPagina(limit);
+        return paginar(eventoJdbcRepository.findEventosByTagWithTags(idTag, cursor, tamanho + 1), tamanho);
+    }
+
+    /**
+     * Busca eventos ativos que satisfazem uma expressão booleana de tags, avaliada no índice em memória.
+     * @param expressao expressão de ids ou nomes de tag, por exemplo "(3 AND 7) OR 12" ou "música AND gratuito OR feira".
+     * @param after cursor retornado pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de eventos na página.
+     * @return página de eventos ordenada por id.
+     * @throws IllegalArgumentException se a expressão ou o cursor forem inválidos.
+     */
+    public PageDTO<EventoDTO> findEventosByTags(String expressao, String after, int limit) {
+        int tamanho = tamanhoPagina(limit);
+        EventoIdCursor cursor = EventoIdCursor.decode(after);
+        RoaringBitmap encontrados = eventoTagIndexService.avaliar(ExpressaoTag.parse(expressao, tagDicionarioService::getId));
+
+        PeekableIntIterator iterator = encontrados.getIntIterator();
+        if (cursor != null) {
+            if (cursor.getIdEvento() == Integer.MAX_VALUE) {
+                return new PageDTO<>(Collections.emptyList(), null);
+            }
+            iterator.advanceIfNeeded(cursor.getIdEvento() + 1);
+        }
+        List<Long> ids = new ArrayList<>(tamanho + 1);
+        while (iterator.hasNext() && ids.size() <= tamanho) {
+            ids.add((long) iterator.next());
+        }
+        if (ids.isEmpty()) {
+            return new PageDTO<>(Collections.emptyList(), null);
         }
 
-        List<EventoDTO> eventos = new ArrayList<>();
+        String nextCursor = null;
+        if (ids.size() > tamanho) {
+            ids = ids.subList(0, tamanho);
+            nextCursor = EventoIdCursor.of(ids.get(tamanho - 1)).encode();
+        }
+        return new PageDTO<>(eventoCache.getAll(ids, eventoJdbcRepository::findAllWithTagsByIds), nextCursor);
+    }
 
-        for (Object[] resultado : resultados) {
-            Long idEvento = (Long) resultado[0];
-            String nomeEvento = (String) resultado[1];
-            String nomeLocal = (String) resultado[2];
-            LocalDate dataInicio = ((java.sql.Date) resultado[3]).toLocalDate();
-            LocalTime horaInicio = ((java.sql.Time) resultado[4]).toLocalTime();
-            LocalDate dataFim = ((java.sql.Date) resultado[5]).toLocalDate();
-            LocalTime horaFim = ((java.sql.Time) resultado[6]).toLocalTime();
+    /**
+     * Busca textual nos nomes e descrições dos eventos ativos, ordenada por relevância.
+     * @param termo texto digitado pelo usuário; aceita a sintaxe de busca web ("frase exata", -excluir, or).
+     * @param after cursor retornado pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de eventos na página.
+     * @throws IllegalArgumentException se o termo estiver vazio ou o cursor for inválido.
+     */
+    public PageDTO<EventoDTO> searchEventos(String termo, String after, int limit) {
+        if (termo == null || termo.isBlank()) {
+            throw new IllegalArgumentException("O termo de busca não pode estar vazio.");
+        }
+        int tamanho = tamanhoPagina(limit);
+        int offset = offsetDoCursor(after);
 
-            String[] tagsArray = (String[]) resultado[7];
-            List<String> tags = Arrays.asList(tagsArray);
+        List<EventoDTO> eventos = eventoJdbcRepository.searchEventos(termo, offset, tamanho + 1);
+        if (eventos.size() <= tamanho) {
+            return new PageDTO<>(eventos, null);
+        }
+        return new PageDTO<>(new ArrayList<>(eventos.subList(0, tamanho)), String.valueOf(offset + tamanho));
+    }
 
-            EventoDTO eventoDTO = new EventoDTO(idEvento, nomeEvento, nomeLocal, dataInicio, horaInicio, dataFim, horaFim, tags);
-            eventos.add(eventoDTO);
+    /**
+     * Busca eventos ativos em locais dentro do raio informado, usando o índice geográfico em memória.
+     * @param after cursor retornado pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de eventos na página.
+     * @return página de eventos ordenada da menor para a maior distância.
+     * @throws IllegalArgumentException se as coordenadas, o raio ou o cursor forem inválidos.
+     */
+    public PageDTO<EventoProximoDTO> findEventosNear(double latitude, double longitude, double raioKm, String after, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordenadas inválidas.");
         }
+        if (raioKm <= 0 || raioKm > RAIO_MAXIMO_KM) {
+            throw new IllegalArgumentException("O raio deve ser maior que 0 e no máximo " + RAIO_MAXIMO_KM + " km.");
+        }
+        int tamanho = tamanhoPagina(limit);
+        int offset = offsetDoCursor(after);
 
-        return eventos;
+        List<EventoGeoIndexService.EventoDistancia> proximos = eventoGeoIndexService.buscarProximos(latitude, longitude, raioKm);
+        if (offset >= proximos.size()) {
+            return new PageDTO<>(Collections.emptyList(), null);
+        }
+        int fim = Math.min(offset + tamanho, proximos.size());
+        List<EventoGeoIndexService.EventoDistancia> pagina = proximos.subList(offset, fim);
+
+        List<Long> ids = new ArrayList<>(pagina.size());
+        pagina.forEach(proximo -> ids.add(proximo.getIdEvento()));
+        Map<Long, EventoDTO> porId = new HashMap<>(pagina.size() * 2);
+        eventoCache.getAll(ids, eventoJdbcRepository::findAllWithTagsByIds).forEach(evento -> porId.put(evento.getIdEvento(), evento));
+
+        List<EventoProximoDTO> eventos = new ArrayList<>(pagina.size());
+        for (EventoGeoIndexService.EventoDistancia proximo : pagina) {
+            EventoDTO evento = porId.get(proximo.getIdEvento());
+            if (evento != null) {
+                eventos.add(new EventoProximoDTO(evento, proximo.getDistanciaKm()));
+            }
+        }
+        return new PageDTO<>(eventos, fim < proximos.size() ? String.valueOf(fim) : null);
     }
 
     /**
-     * @param data data na qual os eventos serão buscados
-     * @return lista de eventos ativos na data.
+     * Busca eventos ativos cujo período (data e hora de início e fim) cruza a janela informada,
+     * usando o índice de períodos em memória.
+     * @param after cursor retornado pela página anterior, ou null para a primeira página.
+     * @param limit quantidade máxima de eventos na página.
+     * @return página de eventos ordenada por data de início.
+     * @throws IllegalArgumentException se a janela ou o cursor forem inválidos.
      */
-    public List<EventoDTO> findEventosByDateRange(LocalDate data) {
-        List<Object[]> resultados = eventoRepository.findEventosByDate(data);
+    public PageDTO<EventoDTO> findEventosByWindow(LocalDateTime inicio, LocalDateTime fim, String after, int limit) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("O fim da janela deve ser posterior ao início.");
+        }
+        EventoCursor cursor = EventoCursor.decode(after);
+        int tamanho = tamanhoPagina(limit);
 
-        if (resultados == null) {
-            return null;
+        List<EventoIntervaloIndexService.Intervalo> intervalos = eventoIntervaloIndexService.buscarNaJanela(inicio, fim, cursor, tamanho + 1);
+        if (intervalos.isEmpty()) {
+            return new PageDTO<>(Collections.emptyList(), null);
         }
 
-        List<EventoDTO> eventos = new ArrayList<>();
-
-        for (Object[] resultado : resultados) {
-            Long idEvento = (Long) resultado[0];
-            String nomeEvento = (String) resultado[1];
-            String nomeLocal = (String) resultado[2];
-            LocalDate dataInicio = ((java.sql.Date) resultado[3]).toLocalDate();
-            LocalTime horaInicio = ((java.sql.Time) resultado[4]).toLocalTime();
-            LocalDate dataFim = ((java.sql.Date) resultado[5]).toLocalDate();
-            LocalTime horaFim = ((java.sql.Time) resultado[6]).toLocalTime();
-            String[] tagsArray = (String[]) resultado[7];
-            List<String> tags = Arrays.asList(tagsArray);
-
-            EventoDTO eventoDTO = new EventoDTO(idEvento, nomeEvento, nomeLocal, dataInicio, horaInicio, dataFim, horaFim, tags);
-            eventos.add(eventoDTO);
+        String nextCursor = null;
+        if (intervalos.size() > tamanho) {
+            intervalos = intervalos.subList(0, tamanho);
+            EventoIntervaloIndexService.Intervalo ultimo = intervalos.get(tamanho - 1);
+            nextCursor = new EventoCursor(ultimo.getDtInicio(), ultimo.getIdEvento()).encode();
         }
 
-        return eventos;
+        List<Long> ids = new ArrayList<>(intervalos.size());
+        intervalos.forEach(intervalo -> ids.add(intervalo.getIdEvento()));
+        return new PageDTO<>(eventoCache.getAll(ids, eventoJdbcRepository::findAllWithTagsByIds), nextCursor);
     }
 
     /**
-     * @return lista de eventos por tag.
+     * Facetas (quantidade de eventos por tag, por local e por dia de início) de todos os eventos de findEventosByTag.
      */
-    public List<EventoDTO> findEventosByTag(Long idTag) {
-        List<Object[]> resultados = eventoRepository.findEventosByTagWithTags(idTag);
+    public FacetasDTO facetasByTag(Long idTag) {
+        return eventoJdbcRepository.facetasPorTag(idTag);
+    }
 
-        if (resultados == null) {
-            return null;
+    public FacetasDTO facetasByAnunciante(Long idAnunciante) {
+        return eventoJdbcRepository.facetasPorAnunciante(idAnunciante);
+    }
+
+    public FacetasDTO facetasByDate(LocalDate data) {
+        return eventoJdbcRepository.facetasPorData(data);
+    }
+
+    public FacetasDTO facetasBySearch(String termo) {
+        if (termo == null || termo.isBlank()) {
+            throw new IllegalArgumentException("O termo de busca não pode estar vazio.");
+        }
+        return eventoJdbcRepository.facetasPorBuscaTextual(termo);
+    }
+
+    /**
+     * Facetas de todos os eventos da expressão de tags; o conjunto vem do índice de bitmaps e só a contagem vai ao banco.
+     */
+    public FacetasDTO facetasByTags(String expressao) {
+        RoaringBitmap encontrados = eventoTagIndexService.avaliar(ExpressaoTag.parse(expressao, tagDicionarioService::getId));
+        List<Long> ids = new ArrayList<>(encontrados.getCardinality());
+        encontrados.forEach((int id) -> ids.add((long) id));
+        return eventoJdbcRepository.facetasPorIds(ids);
+    }
+
+    /**
+     * Facetas de todos os eventos da janela; o conjunto vem do índice de períodos e só a contagem vai ao banco.
+     */
+    public FacetasDTO facetasByWindow(LocalDateTime inicio, LocalDateTime fim) {
+        if (fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("O fim da janela deve ser posterior ao início.");
         }
+        List<Long> ids = new ArrayList<>();
+        eventoIntervaloIndexService.buscarNaJanela(inicio, fim, EventoCursor.decode(null), Integer.MAX_VALUE)
+                .forEach(intervalo -> ids.add(intervalo.getIdEvento()));
+        return eventoJdbcRepository.facetasPorIds(ids);
+    }
+
+    /**
+     * Escreve todos os eventos ativos (com suas tags) na saída, um JSON por linha (NDJSON).
+     * A leitura usa um cursor no servidor, então a memória ocupada não depende do tamanho do catálogo;
+     * a transação somente leitura é necessária para que o driver do Postgres respeite o fetch size.
+     * @param saida stream da resposta HTTP, que não é fechado por este método.
+     */
+    @Transactional(readOnly = true)
+    public void exportarEventos(OutputStream saida) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(EventoDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida);
+        gerador.setRootValueSeparator(null);
 
-        List<EventoDTO> eventos = new ArrayList<>();
-
-        for (Object[] resultado : resultados) {
-            Long idEvento = (Long) resultado[0];
-            String nomeEvento = (String) resultado[1];
-            String nomeLocal = (String) resultado[2];
-            LocalDate dataInicio = ((java.sql.Date) resultado[3]).toLocalDate();
-            LocalTime horaInicio = ((java.sql.Time) resultado[4]).toLocalTime();
-            LocalDate dataFim = ((java.sql.Date) resultado[5]).toLocalDate();
-            LocalTime horaFim = ((java.sql.Time) resultado[6]).toLocalTime();
-            String[] tagsArray = (String[]) resultado[7];
-            List<String> tags = Arrays.asList(tagsArray);
-
-            EventoDTO eventoDTO = new EventoDTO(idEvento, nomeEvento, nomeLocal, dataInicio, horaInicio, dataFim, horaFim, tags);
-            eventos.add(eventoDTO);
+        try {
+            eventoJdbcRepository.streamAllWithTags(TAMANHO_LOTE_EXPORTACAO, evento -> {
+                try {
+                    writer.writeValue(gerador, evento);
+                    gerador.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
 
-        return eventos;
+        gerador.flush();
+    }
+
+    /**
+     * Converte o cursor das buscas paginadas por posição (textual e por proximidade) no deslocamento inicial.
+     */
+    private int offsetDoCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return 0;
+        }
+        int offset = Integer.parseInt(after);
+        if (offset < 0) {
+            throw new IllegalArgumentException("Cursor de paginação inválido.");
+        }
+        return offset;
+    }
+
+    /**
+     * ETags das listagens, calculados a partir do sinal de versão do conjunto de eventos (sem carregar as linhas)
+     * e dos parâmetros da requisição. Mudam sempre que o conteúdo da resposta pode ter mudado.
+     */
+    public String etagEventosPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return null;
+        }
+        return etag(eventoJdbcRepository.versaoPorIds(ids), ids);
+    }
+
+    public String etagEventosByAnunciante(Long idAnunciante, String after, int limit, boolean facetas) {
+        return etag(eventoJdbcRepository.versaoPorAnunciante(idAnunciante), idAnunciante, after, tamanhoPagina(limit), facetas);
+    }
+
+    public String etagEventosByDate(LocalDate data, String after, int limit, boolean facetas) {
+        return etag(eventoJdbcRepository.versaoPorData(data), data, after, tamanhoPagina(limit), facetas);
+    }
+
+    public String etagEventosByTag(Long idTag, String after, int limit, boolean facetas) {
+        return etag(eventoJdbcRepository.versaoPorTag(idTag), idTag, after, tamanhoPagina(limit), facetas);
+    }
+
+    private static String etag(String versao, Object... parametros) {
+        String chave = versao + "|" + Arrays.deepToString(parametros);
+        return "\"" + DigestUtils.md5DigestAsHex(chave.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Limita o tamanho de página pedido pelo cliente ao intervalo [1, TAMANHO_MAXIMO_PAGINA].
+     */
+    private int tamanhoPagina(int limit) {
+        return Math.max(1, Math.min(limit, TAMANHO_MAXIMO_PAGINA));
+    }
+
+    /**
+     * Monta a página a partir de uma consulta feita com um registro a mais que o tamanho da página;
+     * a presença desse registro extra indica que existe uma próxima página.
+     */
+    private PageDTO<EventoDTO> paginar(List<EventoDTO> eventos, int tamanho) {
+        if (eventos.size() <= tamanho) {
+            return new PageDTO<>(eventos, null);
+        }
+        List<EventoDTO> pagina = new ArrayList<>(eventos.subList(0, tamanho));
+        return new PageDTO<>(pagina, EventoCursor.of(pagina.get(tamanho - 1)).encode());
     }
 
+    /**
+     * Ao contrário de getInteresseStatus, responde também para eventos desativados, como sempre fez.
+     */
     public Map<String, Object> getQtInteresseAndUserInterest(Long idEvento, Long idUsuario) {
         Map<String, Object> response = new HashMap<>();
 
-        Optional<Evento> evento = eventoRepository.findById(idEvento);
-        if (evento.isPresent()) {
-            Evento eventoData = evento.get();
-            response.put("qtInteresse", eventoData.getQtInteresse());
-
-            boolean userHasInterest = interesseRepository.existsByConsumidorIdAndEventoId(idUsuario, idEvento);
-            response.put("userInteressou", userHasInterest);
+        InteresseStatusDTO status = buscarInteresseStatus(List.of(idEvento), idUsuario, true).get(idEvento);
+        if (status != null) {
+            response.put("qtInteresse", status.getQtInteresse());
+            response.put("userInteressou", status.isUserInteressou());
         } else {
             response.put("message", "Evento não encontrado.");
         }
@@ -185,12 +427,37 @@ public class EventoService {
         return response;
     }
 
+    /**
+     * @param ids IDs dos eventos; no máximo TAMANHO_MAXIMO_PAGINA por chamada.
+     * @param idUsuario usuário cujo interesse será verificado.
+     * @return para cada evento ativo encontrado, a quantidade de interesses e se o usuário demonstrou interesse.
+     */
+    public Map<Long, InteresseStatusDTO> getInteresseStatus(List<Long> ids, Long idUsuario) {
+        if (ids == null || idUsuario == null) {
+            throw new IllegalArgumentException("Informe os IDs dos eventos e o ID do usuário.");
+        }
+        if (ids.size() > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Informe no máximo " + TAMANHO_MAXIMO_PAGINA + " eventos por requisição.");
+        }
+        return buscarInteresseStatus(ids, idUsuario, false);
+    }
+
+    private Map<Long, InteresseStatusDTO> buscarInteresseStatus(List<Long> ids, Long idUsuario, boolean incluirDesativados) {
+        Map<Long, InteresseStatusDTO> status = eventoJdbcRepository.findInteresseStatus(new ArrayList<>(new LinkedHashSet<>(ids)), idUsuario, incluirDesativados);
+        status.forEach((idEvento, interesse) ->
+                interesse.setQtInteresse(interesse.getQtInteresse() + (int) interesseContadorService.getPendente(idEvento)));
+        return status;
+    }
+
     /**
      * @return evento deletado.
      */
     public Evento deleteEventoById(Long id) {
         Evento evento = getEventoById(id);
-        if (evento != null) eventoRepository.deleteById(id);
+        if (evento != null) {
+            eventoRepository.deleteById(id);
+            eventPublisher.publishEvent(new EventoAlteradoEvent(id, EventoAlteradoEvent.Tipo.EXCLUIDO));
+        }
         return evento;
     }
 
@@ -198,35 +465,32 @@ public class EventoService {
      * Método para inserir um evento junto com suas tags.
      */
     public Integer saveEvento(Evento evento, List<String> tags) {
-        try {
-            evento.setQtInteresse(0);
-
-            java.sql.Array tagsArray = jdbcTemplate.getDataSource().getConnection().createArrayOf("VARCHAR", tags.toArray());
-
-            return jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
-                try (CallableStatement callableStatement = con.prepareCall("CALL PRC_INSERIR_EVENTO_TAG(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-                    callableStatement.setString(1, evento.getNmEvento());
-                    callableStatement.setString(2, evento.getDsEvento());
-                    callableStatement.setDate(3, java.sql.Date.valueOf(evento.getDtInicio()));
-                    callableStatement.setTime(4, java.sql.Time.valueOf(evento.getHrInicio()));
-                    callableStatement.setDate(5, java.sql.Date.valueOf(evento.getDtFim()));
-                    callableStatement.setTime(6, java.sql.Time.valueOf(evento.getHrFim()));
-                    callableStatement.setString(7, evento.getUrlDocumentacao());
-                    callableStatement.setInt(8, Long.valueOf(evento.getLocal().getId()).intValue());
-                    callableStatement.setInt(9, evento.getAnunciante().getId().intValue());
-                    callableStatement.setArray(10, tagsArray);
-
-                    callableStatement.registerOutParameter(11, java.sql.Types.INTEGER);
-
-                    callableStatement.execute();
-
-                    return callableStatement.getInt(11);
-                }
-            });
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao salvar o evento e tags: " + e.getMessage(), e);
-        }
+        evento.setQtInteresse(0);
+        List<String> nomesTags = tagDicionarioService.resolverNomes(tags);
+
+        Integer idEvento = jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            try (CallableStatement callableStatement = con.prepareCall("CALL PRC_INSERIR_EVENTO_TAG(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                callableStatement.setString(1, evento.getNmEvento());
+                callableStatement.setString(2, evento.getDsEvento());
+                callableStatement.setDate(3, java.sql.Date.valueOf(evento.getDtInicio()));
+                callableStatement.setTime(4, java.sql.Time.valueOf(evento.getHrInicio()));
+                callableStatement.setDate(5, java.sql.Date.valueOf(evento.getDtFim()));
+                callableStatement.setTime(6, java.sql.Time.valueOf(evento.getHrFim()));
+                callableStatement.setString(7, evento.getUrlDocumentacao());
+                callableStatement.setInt(8, Long.valueOf(evento.getLocal().getId()).intValue());
+                callableStatement.setInt(9, evento.getAnunciante().getId().intValue());
+                SqlArrays.bind(callableStatement, 10, SqlArrays.VARCHAR, nomesTags);
+
+                callableStatement.registerOutParameter(11, java.sql.Types.INTEGER);
+
+                callableStatement.execute();
+
+                return callableStatement.getInt(11);
+            }
+        });
+
+        eventPublisher.publishEvent(new EventoAlteradoEvent(idEvento.longValue(), EventoAlteradoEvent.Tipo.CRIADO));
+        return idEvento;
     }
 
     /**
@@ -240,7 +504,6 @@ public class EventoService {
         if (existingEvento != null) {
             existingEvento.setLocal(evento.getLocal());
             existingEvento.setAnunciante(evento.getAnunciante());
-            existingEvento.setQtInteresse(evento.getQtInteresse());
             existingEvento.setNmEvento(evento.getNmEvento());
             existingEvento.setDsEvento(evento.getDsEvento());
             existingEvento.setDtInicio(evento.getDtInicio());
@@ -249,7 +512,9 @@ public class EventoService {
             existingEvento.setHrFim(evento.getHrFim());
             existingEvento.setUrlDocumentacao(evento.getUrlDocumentacao());
             existingEvento.setDtAtualizacao(LocalDateTime.now());
-            return eventoRepository.save(existingEvento);
+            Evento eventoAtualizado = eventoRepository.save(existingEvento);
+            eventPublisher.publishEvent(new EventoAlteradoEvent(id, EventoAlteradoEvent.Tipo.ATUALIZADO));
+            return eventoAtualizado;
         }
         return null;
     }
@@ -263,6 +528,7 @@ public class EventoService {
             Evento e = evento.get();
             e.setDtDesativacao(LocalDateTime.now());
             eventoRepository.save(e);
+            eventPublisher.publishEvent(new EventoAlteradoEvent(id, EventoAlteradoEvent.Tipo.DESATIVADO));
         }
         return evento;
     }
@@ -0,0 +1,162 @@
+/*
+ * Class: EventoSnapshotService
+ * Description: Keeps pre-serialized snapshots of today's and this week's events in memory.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.dto.EventoCursor;
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import blomera.praceando.praceandoapipg.dto.PageDTO;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.event.LocalAlteradoEvent;
+import blomera.praceando.praceandoapipg.event.TagAlteradaEvent;
+import blomera.praceando.praceandoapipg.repository.EventoJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mantém em memória, já serializados em JSON, os eventos ativos hoje e nos próximos 7 dias (a partir de hoje),
+ * no mesmo formato de página do /findByDate, além da primeira página padrão do /findByDate de hoje (com o nextCursor
+ * para continuar pelo banco). Os snapshots são imutáveis e trocados de uma vez; servir um
+ * deles é só ler a referência e copiar os bytes. São reconstruídos quando um evento ou local muda
+ * (agrupando as alterações de alguns segundos), na virada do dia e periodicamente, para alterações feitas fora da API.
+ */
+@Service
+public class EventoSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoSnapshotService.class);
+
+    private static final int DIAS_SEMANA = 7;
+
+    /** Tamanho padrão de página do /findByDate, o único cuja primeira página de hoje é servida do snapshot. */
+    public static final int TAMANHO_PRIMEIRA_PAGINA = 50;
+
+    public enum Periodo {
+        HOJE,
+        SEMANA,
+        PRIMEIRA_PAGINA_HOJE
+    }
+
+    @AllArgsConstructor
+    @Getter
+    public static class Snapshot {
+        private final LocalDate data;
+        private final byte[] json;
+        private final String etag;
+        private final boolean vazio;
+    }
+
+    private final EventoJdbcRepository eventoJdbcRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<Map<Periodo, Snapshot>> snapshots = new AtomicReference<>();
+    private final AtomicBoolean desatualizado = new AtomicBoolean(true);
+
+    public EventoSnapshotService(EventoJdbcRepository eventoJdbcRepository, ObjectMapper objectMapper) {
+        this.eventoJdbcRepository = eventoJdbcRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot getSnapshot(Periodo periodo) {
+        Map<Periodo, Snapshot> atuais = snapshots.get();
+        if (atuais == null) {
+            atuais = reconstruir();
+        }
+        return atuais.get(periodo);
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        desatualizado.set(true);
+    }
+
+    @EventListener
+    public void onLocalAlterado(LocalAlteradoEvent local) {
+        desatualizado.set(true);
+    }
+
+    @EventListener
+    public void onTagAlterada(TagAlteradaEvent tag) {
+        desatualizado.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${praceando.snapshot.intervalo:PT2S}")
+    public void atualizarSeNecessario() {
+        Map<Periodo, Snapshot> atuais = snapshots.get();
+        boolean virouODia = atuais != null && !atuais.get(Periodo.HOJE).getData().equals(LocalDate.now());
+        if (desatualizado.getAndSet(false) || virouODia) {
+            try {
+                reconstruir();
+            } catch (RuntimeException e) {
+                desatualizado.set(true);
+                logger.error("Falha ao reconstruir os snapshots de eventos.", e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${praceando.snapshot.recarga-completa:PT10M}", initialDelayString = "${praceando.snapshot.recarga-completa:PT10M}")
+    public void recarregar() {
+        desatualizado.set(true);
+    }
+
+    /**
+     * Uma única consulta traz a semana; o snapshot de hoje é filtrado dela.
+     */
+    private synchronized Map<Periodo, Snapshot> reconstruir() {
+        LocalDate hoje = LocalDate.now();
+        List<EventoDTO> semana = eventoJdbcRepository.findEventosNoPeriodo(hoje, hoje.plusDays(DIAS_SEMANA - 1));
+
+        List<EventoDTO> deHoje = new ArrayList<>();
+        for (EventoDTO evento : semana) {
+            if (!evento.getDataInicio().isAfter(hoje) && !evento.getDataFim().isBefore(hoje)) {
+                deHoje.add(evento);
+            }
+        }
+
+        Map<Periodo, Snapshot> novos = new EnumMap<>(Periodo.class);
+        novos.put(Periodo.HOJE, serializar(hoje, new PageDTO<>(deHoje, null)));
+        novos.put(Periodo.SEMANA, serializar(hoje, new PageDTO<>(semana, null)));
+        novos.put(Periodo.PRIMEIRA_PAGINA_HOJE, serializar(hoje, primeiraPagina(deHoje)));
+        Map<Periodo, Snapshot> imutaveis = Map.copyOf(novos);
+        snapshots.set(imutaveis);
+        return imutaveis;
+    }
+
+    /**
+     * A mesma página que o /findByDate monta para hoje sem cursor e com o tamanho padrão.
+     */
+    private static PageDTO<EventoDTO> primeiraPagina(List<EventoDTO> deHoje) {
+        if (deHoje.size() <= TAMANHO_PRIMEIRA_PAGINA) {
+            return new PageDTO<>(deHoje, null);
+        }
+        List<EventoDTO> pagina = new ArrayList<>(deHoje.subList(0, TAMANHO_PRIMEIRA_PAGINA));
+        return new PageDTO<>(pagina, EventoCursor.of(pagina.get(TAMANHO_PRIMEIRA_PAGINA - 1)).encode());
+    }
+
+    private Snapshot serializar(LocalDate data, PageDTO<EventoDTO> pagina) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(pagina);
+            return new Snapshot(data, json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"", pagina.getItems().isEmpty());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o snapshot de eventos.", e);
+        }
+    }
+}
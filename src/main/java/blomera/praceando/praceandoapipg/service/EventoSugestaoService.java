@@ -0,0 +1,330 @@
+/*
+ * Class: EventoSugestaoService
+ * Description: In-memory prefix index over active event names for autocomplete.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.dto.SugestaoDTO;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import blomera.praceando.praceandoapipg.util.Textos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autocompletar de nomes de eventos ativos, sem ir ao Postgres.
+ * Cada nome, sem acentos e em minúsculas, gera uma chave a partir de cada palavra ("Feira Orgânica da Praça" é encontrado
+ * por "fei", "org" e "pra"); as chaves ficam em um vetor ordenado, de modo que um prefixo corresponde a uma faixa
+ * contínua encontrada por busca binária. Uma árvore de segmentos guarda a posição de maior qt_interesse de cada faixa,
+ * e as mais populares saem de uma fila de prioridade de subfaixas, sem percorrer todas as chaves do prefixo.
+ * Uma escrita não reconstrói o vetor: as chaves dos eventos alterados vão para um índice delta pequeno, com a mesma
+ * estrutura, e as suas chaves antigas no vetor base são mascaradas; a busca consulta os dois e intercala por popularidade.
+ * O delta é compactado no vetor quando passa de LIMITE_DELTA eventos e a cada recarga periódica, que também atualiza a
+ * popularidade. A popularidade lida do banco soma os interesses que o InteresseContadorService ainda não gravou.
+ * A recarga consulta o banco fora do lock; os eventos alterados enquanto ela consulta mantêm a versão que o listener
+ * leu, para que a troca do mapa não desfaça essas alterações.
+ */
+@Service
+public class EventoSugestaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoSugestaoService.class);
+
+    public static final int LIMITE_MAXIMO = 10;
+
+    private static final int PALAVRAS_POR_NOME = 8;
+
+    /** Quantidade de eventos alterados acumulados no delta a partir da qual ele é compactado no vetor. */
+    private static final int LIMITE_DELTA = 1024;
+
+    private static final String SQL_NOMES = "SELECT e.id_evento, e.nm_evento, e.qt_interesse " +
+            "FROM evento e " +
+            "WHERE e.dt_desativacao IS NULL " +
+            "AND e.nm_evento IS NOT NULL";
+
+    private static final Comparator<Nome> POPULARIDADE = Comparator.comparingLong((Nome nome) -> nome.qtInteresse).reversed();
+
+    private static final Estado VAZIO = new Estado(new Indice(Collections.emptyList()), Collections.emptyMap(), Collections.emptySet());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InteresseContadorService interesseContadorService;
+    private final Map<Long, Nome> nomes = new ConcurrentHashMap<>();
+    private final Object recarga = new Object();
+    private volatile Estado estado = VAZIO;
+
+    /** Ids alterados desde o início da consulta da recarga em andamento; null fora de uma recarga. */
+    private Set<Long> alteradosNaRecarga;
+
+    public EventoSugestaoService(JdbcTemplate jdbcTemplate, InteresseContadorService interesseContadorService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.interesseContadorService = interesseContadorService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${praceando.sugestao.recarga:PT10M}", initialDelayString = "${praceando.sugestao.recarga:PT10M}")
+    public void carregar() {
+        synchronized (recarga) {
+            try {
+                synchronized (this) {
+                    alteradosNaRecarga = new HashSet<>();
+                }
+                List<Nome> carregados = jdbcTemplate.query(SQL_NOMES, this::mapearNome);
+                synchronized (this) {
+                    Map<Long, Nome> alterados = new HashMap<>();
+                    alteradosNaRecarga.forEach(id -> alterados.put(id, nomes.get(id)));
+                    nomes.clear();
+                    carregados.forEach(nome -> nomes.put(nome.idEvento, nome));
+                    alterados.forEach((id, nome) -> {
+                        if (nome != null) {
+                            nomes.put(id, nome);
+                        } else {
+                            nomes.remove(id);
+                        }
+                    });
+                    compactar();
+                }
+                logger.info("Índice de sugestões carregado: {} eventos ativos.", nomes.size());
+            } catch (Exception e) {
+                logger.error("Erro ao carregar o índice de sugestões de eventos.", e);
+            } finally {
+                synchronized (this) {
+                    alteradosNaRecarga = null;
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        List<Nome> atuais = evento.getTipo() == EventoAlteradoEvent.Tipo.EXCLUIDO
+                ? Collections.emptyList()
+                : jdbcTemplate.query(SQL_NOMES + " AND e.id_evento = ANY (?)",
+                        ps -> SqlArrays.bind(ps, 1, SqlArrays.BIGINT, evento.getIdsEventos()), this::mapearNome);
+
+        synchronized (this) {
+            evento.getIdsEventos().forEach(nomes::remove);
+            atuais.forEach(nome -> nomes.put(nome.idEvento, nome));
+            if (alteradosNaRecarga != null) {
+                alteradosNaRecarga.addAll(evento.getIdsEventos());
+            }
+
+            Estado atual = estado;
+            if (atual.mascarados.size() + evento.getIdsEventos().size() > LIMITE_DELTA) {
+                compactar();
+                return;
+            }
+            Map<Long, Nome> delta = new HashMap<>(atual.nomesDelta);
+            evento.getIdsEventos().forEach(delta::remove);
+            atuais.forEach(nome -> delta.put(nome.idEvento, nome));
+            Set<Long> mascarados = new HashSet<>(atual.mascarados);
+            mascarados.addAll(evento.getIdsEventos());
+            estado = new Estado(atual.base, delta, mascarados);
+        }
+    }
+
+    /**
+     * A popularidade inclui os interesses registrados que ainda não chegaram a qt_interesse.
+     */
+    private Nome mapearNome(ResultSet rs, int rowNum) throws SQLException {
+        long idEvento = rs.getLong(1);
+        return new Nome(idEvento, rs.getString(2), rs.getLong(3) + interesseContadorService.getPendente(idEvento));
+    }
+
+    private synchronized void compactar() {
+        estado = new Estado(new Indice(nomes.values()), Collections.emptyMap(), Collections.emptySet());
+    }
+
+    /**
+     * @return até {@code limite} eventos com alguma palavra do nome começando pelo prefixo (ignorando acentos e
+     * maiúsculas), do mais para o menos popular.
+     */
+    public List<SugestaoDTO> sugerir(String prefixo, int limite) {
+        String chave = prefixo != null ? Textos.normalizar(prefixo) : "";
+        if (chave.isEmpty()) {
+            throw new IllegalArgumentException("Informe o prefixo.");
+        }
+        return estado.buscar(chave, Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
+    }
+
+    private static final class Nome {
+        private final long idEvento;
+        private final String nmEvento;
+        private final long qtInteresse;
+
+        private Nome(long idEvento, String nmEvento, long qtInteresse) {
+            this.idEvento = idEvento;
+            this.nmEvento = nmEvento;
+            this.qtInteresse = qtInteresse;
+        }
+    }
+
+    /**
+     * Fotografia imutável do índice: o vetor base, o índice delta dos eventos alterados desde a última compactação e os
+     * ids cujas chaves no vetor base estão desatualizadas.
+     */
+    private static final class Estado {
+        private final Indice base;
+        private final Map<Long, Nome> nomesDelta;
+        private final Indice delta;
+        private final Set<Long> mascarados;
+
+        private Estado(Indice base, Map<Long, Nome> nomesDelta, Set<Long> mascarados) {
+            this.base = base;
+            this.nomesDelta = nomesDelta;
+            this.delta = new Indice(nomesDelta.values());
+            this.mascarados = mascarados;
+        }
+
+        /**
+         * Os dois resultados já vêm do mais para o menos popular e não têm ids em comum, pois os ids do delta estão
+         * mascarados no vetor base.
+         */
+        private List<SugestaoDTO> buscar(String prefixo, int limite) {
+            List<Nome> encontrados = new ArrayList<>(base.buscar(prefixo, limite, mascarados));
+            if (!nomesDelta.isEmpty()) {
+                encontrados.addAll(delta.buscar(prefixo, limite, Collections.emptySet()));
+                encontrados.sort(POPULARIDADE);
+            }
+            List<SugestaoDTO> sugestoes = new ArrayList<>(Math.min(limite, encontrados.size()));
+            for (int i = 0; i < encontrados.size() && sugestoes.size() < limite; i++) {
+                sugestoes.add(new SugestaoDTO(encontrados.get(i).idEvento, encontrados.get(i).nmEvento));
+            }
+            return sugestoes;
+        }
+    }
+
+    /**
+     * Vetor imutável de chaves ordenadas com árvore de segmentos guardando a posição mais popular de cada faixa.
+     */
+    private static final class Indice {
+        private final String[] chaves;
+        private final Nome[] donos;
+        private final int[] melhor;
+        private final int folhas;
+
+        private Indice(Collection<Nome> nomes) {
+            List<Map.Entry<String, Nome>> entradas = new ArrayList<>(nomes.size() * 2);
+            for (Nome nome : nomes) {
+                String normalizado = Textos.normalizar(nome.nmEvento);
+                int inicio = 0;
+                for (int palavra = 0; palavra < PALAVRAS_POR_NOME && inicio < normalizado.length(); palavra++) {
+                    entradas.add(Map.entry(normalizado.substring(inicio), nome));
+                    int espaco = normalizado.indexOf(' ', inicio);
+                    if (espaco < 0) {
+                        break;
+                    }
+                    inicio = espaco + 1;
+                }
+            }
+            entradas.sort(Map.Entry.comparingByKey());
+
+            chaves = new String[entradas.size()];
+            donos = new Nome[entradas.size()];
+            for (int i = 0; i < entradas.size(); i++) {
+                chaves[i] = entradas.get(i).getKey();
+                donos[i] = entradas.get(i).getValue();
+            }
+
+            int tamanho = 1;
+            while (tamanho < chaves.length) {
+                tamanho <<= 1;
+            }
+            folhas = tamanho;
+            melhor = new int[2 * tamanho];
+            Arrays.fill(melhor, -1);
+            for (int i = 0; i < chaves.length; i++) {
+                melhor[tamanho + i] = i;
+            }
+            for (int no = tamanho - 1; no >= 1; no--) {
+                melhor[no] = maisPopularEntre(melhor[2 * no], melhor[2 * no + 1]);
+            }
+        }
+
+        /**
+         * @param ignorados ids cujas chaves não entram no resultado.
+         * @return até {@code limite} eventos distintos, do mais para o menos popular.
+         */
+        private List<Nome> buscar(String prefixo, int limite, Set<Long> ignorados) {
+            int de = primeiraPosicao(prefixo);
+            int ate = primeiraPosicao(prefixo + Character.MAX_VALUE);
+            List<Nome> sugestoes = new ArrayList<>(limite);
+            if (de >= ate) {
+                return sugestoes;
+            }
+
+            // Cada faixa é {de, ate, posição mais popular}; retirar a melhor divide a faixa em duas.
+            PriorityQueue<int[]> faixas = new PriorityQueue<>((a, b) -> a[2] == b[2] ? 0 : maisPopularEntre(a[2], b[2]) == a[2] ? -1 : 1);
+            faixas.add(new int[]{de, ate, maisPopular(de, ate)});
+            Set<Long> vistos = new HashSet<>();
+            while (!faixas.isEmpty() && sugestoes.size() < limite) {
+                int[] faixa = faixas.poll();
+                int posicao = faixa[2];
+                Nome nome = donos[posicao];
+                if (!ignorados.contains(nome.idEvento) && vistos.add(nome.idEvento)) {
+                    sugestoes.add(nome);
+                }
+                if (faixa[0] < posicao) {
+                    faixas.add(new int[]{faixa[0], posicao, maisPopular(faixa[0], posicao)});
+                }
+                if (posicao + 1 < faixa[1]) {
+                    faixas.add(new int[]{posicao + 1, faixa[1], maisPopular(posicao + 1, faixa[1])});
+                }
+            }
+            return sugestoes;
+        }
+
+        /**
+         * @return a posição mais popular de [de, ate), percorrendo a árvore de baixo para cima.
+         */
+        private int maisPopular(int de, int ate) {
+            int resultado = -1;
+            for (int esquerda = de + folhas, direita = ate + folhas; esquerda < direita; esquerda >>= 1, direita >>= 1) {
+                if ((esquerda & 1) == 1) resultado = maisPopularEntre(resultado, melhor[esquerda++]);
+                if ((direita & 1) == 1) resultado = maisPopularEntre(resultado, melhor[--direita]);
+            }
+            return resultado;
+        }
+
+        /**
+         * @return entre duas posições, a de maior qt_interesse; no empate, a primeira em ordem alfabética.
+         */
+        private int maisPopularEntre(int a, int b) {
+            if (a < 0) return b;
+            if (b < 0) return a;
+            long qtA = donos[a].qtInteresse;
+            long qtB = donos[b].qtInteresse;
+            if (qtA != qtB) {
+                return qtA > qtB ? a : b;
+            }
+            return Math.min(a, b);
+        }
+
+        /**
+         * @return a primeira posição cuja chave não é menor que a informada.
+         */
+        private int primeiraPosicao(String chave) {
+            int baixo = 0;
+            int alto = chaves.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (chaves[meio].compareTo(chave) < 0) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+}
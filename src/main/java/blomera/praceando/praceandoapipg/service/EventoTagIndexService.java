@@ -0,0 +1,152 @@
+/*
+ * Class: EventoTagIndexService
+ * Description: In-memory tag to event bitmap index.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Índice em memória de tag para eventos, em bitmaps comprimidos (Roaring), mais o bitmap dos eventos ativos.
+ * É carregado do banco ao subir a aplicação e atualizado a cada EventoAlteradoEvent,
+ * permitindo avaliar expressões de tags sem ir ao Postgres.
+ */
+@Service
+public class EventoTagIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventoTagIndexService.class);
+
+    private static final RoaringBitmap VAZIO = new RoaringBitmap();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, RoaringBitmap> eventosPorTag = new HashMap<>();
+    private RoaringBitmap ativos = new RoaringBitmap();
+
+    public EventoTagIndexService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reconstrói o índice inteiro a partir das tabelas evento e evento_tag.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            Map<Long, RoaringBitmap> novoEventosPorTag = new HashMap<>();
+            jdbcTemplate.query("SELECT et.cd_tag, et.cd_evento FROM evento_tag et", rs -> {
+                novoEventosPorTag.computeIfAbsent(rs.getLong(1), k -> new RoaringBitmap()).add(Math.toIntExact(rs.getLong(2)));
+            });
+            RoaringBitmap novosAtivos = new RoaringBitmap();
+            jdbcTemplate.query("SELECT e.id_evento FROM evento e WHERE e.dt_desativacao IS NULL", rs -> {
+                novosAtivos.add(Math.toIntExact(rs.getLong(1)));
+            });
+            novoEventosPorTag.values().forEach(RoaringBitmap::runOptimize);
+            novosAtivos.runOptimize();
+
+            lock.writeLock().lock();
+            try {
+                eventosPorTag = novoEventosPorTag;
+                ativos = novosAtivos;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Índice de tags carregado: {} tags, {} eventos ativos.", novoEventosPorTag.size(), novosAtivos.getCardinality());
+        } catch (Exception e) {
+            logger.error("Erro ao carregar o índice de tags dos eventos.", e);
+        }
+    }
+
+    /**
+     * Relê do banco as tags e a situação dos eventos alterados e substitui as entradas deles no índice.
+     */
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        RoaringBitmap alterados = new RoaringBitmap();
+        evento.getIdsEventos().forEach(id -> alterados.add(Math.toIntExact(id)));
+        RoaringBitmap novosAtivos = new RoaringBitmap();
+        Map<Long, RoaringBitmap> novasTags = new HashMap<>();
+
+        if (evento.getTipo() != EventoAlteradoEvent.Tipo.EXCLUIDO) {
+            jdbcTemplate.query("SELECT e.id_evento FROM evento e WHERE e.id_evento = ANY (?) AND e.dt_desativacao IS NULL",
+                    ps -> SqlArrays.bind(ps, 1, SqlArrays.BIGINT, evento.getIdsEventos()),
+                    rs -> {
+                        novosAtivos.add(Math.toIntExact(rs.getLong(1)));
+                    });
+            jdbcTemplate.query("SELECT et.cd_tag, et.cd_evento FROM evento_tag et WHERE et.cd_evento = ANY (?)",
+                    ps -> SqlArrays.bind(ps, 1, SqlArrays.BIGINT, evento.getIdsEventos()),
+                    rs -> {
+                        novasTags.computeIfAbsent(rs.getLong(1), k -> new RoaringBitmap()).add(Math.toIntExact(rs.getLong(2)));
+                    });
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (RoaringBitmap bitmap : eventosPorTag.values()) {
+                bitmap.andNot(alterados);
+            }
+            ativos.andNot(alterados);
+            ativos.or(novosAtivos);
+            novasTags.forEach((idTag, eventos) -> {
+                eventos.and(novosAtivos);
+                eventosPorTag.computeIfAbsent(idTag, k -> new RoaringBitmap()).or(eventos);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entrega ao consumidor o id de cada evento ativo com a tag, sob o lock de leitura do índice.
+     */
+    public void paraCadaEventoAtivo(Long idTag, IntConsumer consumidor) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap eventos = eventosPorTag.get(idTag);
+            if (eventos == null) {
+                return;
+            }
+            IntIterator iterator = eventos.getIntIterator();
+            while (iterator.hasNext()) {
+                int idEvento = iterator.next();
+                if (ativos.contains(idEvento)) {
+                    consumidor.accept(idEvento);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Avalia uma expressão de tags (ver {@link ExpressaoTag}) sobre os eventos ativos.
+     * @return bitmap novo, que pode ser lido pelo chamador sem sincronização.
+     */
+    public RoaringBitmap avaliar(ExpressaoTag expressao) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap resultado = expressao.avaliar(idTag -> eventosPorTag.getOrDefault(idTag, VAZIO), ativos);
+            return RoaringBitmap.and(resultado, ativos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
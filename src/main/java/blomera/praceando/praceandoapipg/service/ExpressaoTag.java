@@ -0,0 +1,244 @@
+/*
+ * Class: ExpressaoTag
+ * Description: Boolean tag expression evaluated over the tag bitmap index.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Expressão booleana sobre tags, por exemplo {@code (3 AND 7) OR 12 AND NOT 5} ou {@code música AND gratuito OR feira}.
+ * Cada termo é um id numérico ou o nome de uma tag; nomes com espaços, ou iguais a um operador ou a um número,
+ * vão entre aspas ({@code "música ao vivo"}). Operadores não diferenciam maiúsculas.
+ * Precedência: NOT, depois AND, depois OR; parênteses podem ser usados para agrupar.
+ * O tamanho e o aninhamento são limitados, já que a expressão vem da query string e é analisada e avaliada
+ * recursivamente.
+ */
+public abstract class ExpressaoTag {
+
+    public static final int MAXIMO_TERMOS = 200;
+    public static final int MAXIMO_ANINHAMENTO = 32;
+
+    /**
+     * @param eventosPorTag bitmap de eventos de cada tag (nunca nulo).
+     * @param universo eventos considerados na negação.
+     */
+    public abstract RoaringBitmap avaliar(LongFunction<RoaringBitmap> eventosPorTag, RoaringBitmap universo);
+
+    /**
+     * @param idPorNome resolve o nome de uma tag no seu id, ou null se a tag não existir.
+     * @throws IllegalArgumentException se a expressão for vazia, mal formada, grande demais ou citar uma tag inexistente.
+     */
+    public static ExpressaoTag parse(String expressao, Function<String, Long> idPorNome) {
+        if (expressao == null || expressao.isBlank()) {
+            throw new IllegalArgumentException("A expressão de tags não pode estar vazia.");
+        }
+        Parser parser = new Parser(tokenizar(expressao), idPorNome);
+        ExpressaoTag resultado = parser.ou();
+        if (parser.posicao < parser.tokens.size()) {
+            throw new IllegalArgumentException("Expressão de tags inválida próximo de '" + parser.tokens.get(parser.posicao).texto + "'.");
+        }
+        return resultado;
+    }
+
+    private static final class Token {
+        private final String texto;
+        private final boolean entreAspas;
+
+        private Token(String texto, boolean entreAspas) {
+            this.texto = texto;
+            this.entreAspas = entreAspas;
+        }
+    }
+
+    private static List<Token> tokenizar(String expressao) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expressao.length()) {
+            char c = expressao.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (tokens.size() == MAXIMO_TERMOS * 4) {
+                throw new IllegalArgumentException("Expressão de tags muito longa.");
+            }
+            if (c == '(' || c == ')') {
+                tokens.add(new Token(String.valueOf(c), false));
+                i++;
+            } else if (c == '"') {
+                int fim = expressao.indexOf('"', i + 1);
+                if (fim < 0) {
+                    throw new IllegalArgumentException("Aspas não fechadas na expressão de tags.");
+                }
+                tokens.add(new Token(expressao.substring(i + 1, fim), true));
+                i = fim + 1;
+            } else {
+                int inicio = i;
+                while (i < expressao.length() && !Character.isWhitespace(expressao.charAt(i))
+                        && expressao.charAt(i) != '(' && expressao.charAt(i) != ')' && expressao.charAt(i) != '"') {
+                    i++;
+                }
+                tokens.add(new Token(expressao.substring(inicio, i), false));
+            }
+        }
+        return tokens;
+    }
+
+    private static final class Parser {
+        private final List<Token> tokens;
+        private final Function<String, Long> idPorNome;
+        private int posicao;
+        private int termos;
+        private int aninhamento;
+
+        private Parser(List<Token> tokens, Function<String, Long> idPorNome) {
+            this.tokens = tokens;
+            this.idPorNome = idPorNome;
+        }
+
+        private ExpressaoTag ou() {
+            ExpressaoTag esquerda = e();
+            while (consumir("OR")) {
+                esquerda = new Ou(esquerda, e());
+            }
+            return esquerda;
+        }
+
+        private ExpressaoTag e() {
+            ExpressaoTag esquerda = nao();
+            while (consumir("AND")) {
+                esquerda = new E(esquerda, nao());
+            }
+            return esquerda;
+        }
+
+        private ExpressaoTag nao() {
+            if (consumir("NOT")) {
+                entrar();
+                ExpressaoTag operando = nao();
+                aninhamento--;
+                return new Nao(operando);
+            }
+            return termo();
+        }
+
+        private ExpressaoTag termo() {
+            if (posicao >= tokens.size()) {
+                throw new IllegalArgumentException("Expressão de tags incompleta.");
+            }
+            if (consumir("(")) {
+                entrar();
+                ExpressaoTag interna = ou();
+                aninhamento--;
+                if (!consumir(")")) {
+                    throw new IllegalArgumentException("Parêntese não fechado na expressão de tags.");
+                }
+                return interna;
+            }
+            Token token = tokens.get(posicao++);
+            if (!token.entreAspas && (token.texto.equals(")") || operador(token.texto))) {
+                throw new IllegalArgumentException("Expressão de tags inválida próximo de '" + token.texto + "'.");
+            }
+            if (++termos > MAXIMO_TERMOS) {
+                throw new IllegalArgumentException("A expressão de tags pode ter no máximo " + MAXIMO_TERMOS + " tags.");
+            }
+            if (!token.entreAspas && !token.texto.isEmpty() && token.texto.chars().allMatch(Character::isDigit)) {
+                try {
+                    return new TagTermo(Long.parseLong(token.texto));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Id de tag inválido na expressão: '" + token.texto + "'.");
+                }
+            }
+            Long idTag = token.texto.isBlank() ? null : idPorNome.apply(token.texto);
+            if (idTag == null) {
+                throw new IllegalArgumentException("Tag não encontrada: " + token.texto);
+            }
+            return new TagTermo(idTag);
+        }
+
+        private void entrar() {
+            if (++aninhamento > MAXIMO_ANINHAMENTO) {
+                throw new IllegalArgumentException("A expressão de tags pode ter no máximo " + MAXIMO_ANINHAMENTO + " níveis de aninhamento.");
+            }
+        }
+
+        private boolean consumir(String esperado) {
+            if (posicao < tokens.size() && !tokens.get(posicao).entreAspas
+                    && tokens.get(posicao).texto.toUpperCase(Locale.ROOT).equals(esperado)) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+
+        private static boolean operador(String texto) {
+            String maiusculo = texto.toUpperCase(Locale.ROOT);
+            return maiusculo.equals("AND") || maiusculo.equals("OR") || maiusculo.equals("NOT");
+        }
+    }
+
+    private static final class TagTermo extends ExpressaoTag {
+        private final long idTag;
+
+        private TagTermo(long idTag) {
+            this.idTag = idTag;
+        }
+
+        @Override
+        public RoaringBitmap avaliar(LongFunction<RoaringBitmap> eventosPorTag, RoaringBitmap universo) {
+            return eventosPorTag.apply(idTag);
+        }
+    }
+
+    private static final class E extends ExpressaoTag {
+        private final ExpressaoTag esquerda;
+        private final ExpressaoTag direita;
+
+        private E(ExpressaoTag esquerda, ExpressaoTag direita) {
+            this.esquerda = esquerda;
+            this.direita = direita;
+        }
+
+        @Override
+        public RoaringBitmap avaliar(LongFunction<RoaringBitmap> eventosPorTag, RoaringBitmap universo) {
+            return RoaringBitmap.and(esquerda.avaliar(eventosPorTag, universo), direita.avaliar(eventosPorTag, universo));
+        }
+    }
+
+    private static final class Ou extends ExpressaoTag {
+        private final ExpressaoTag esquerda;
+        private final ExpressaoTag direita;
+
+        private Ou(ExpressaoTag esquerda, ExpressaoTag direita) {
+            this.esquerda = esquerda;
+            this.direita = direita;
+        }
+
+        @Override
+        public RoaringBitmap avaliar(LongFunction<RoaringBitmap> eventosPorTag, RoaringBitmap universo) {
+            return RoaringBitmap.or(esquerda.avaliar(eventosPorTag, universo), direita.avaliar(eventosPorTag, universo));
+        }
+    }
+
+    private static final class Nao extends ExpressaoTag {
+        private final ExpressaoTag operando;
+
+        private Nao(ExpressaoTag operando) {
+            this.operando = operando;
+        }
+
+        @Override
+        public RoaringBitmap avaliar(LongFunction<RoaringBitmap> eventosPorTag, RoaringBitmap universo) {
+            return RoaringBitmap.andNot(universo, operando.avaliar(eventosPorTag, universo));
+        }
+    }
+}
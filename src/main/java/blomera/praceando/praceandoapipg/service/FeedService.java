@@ -0,0 +1,215 @@
+/*
+ * Class: FeedService
+ * Description: Personalized event feed ranked by the user's tag affinity.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.event.UsuarioTagAlteradoEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Monta o feed de um consumidor pontuando os eventos ativos que ainda não terminaram pela afinidade de tags:
+ * a pontuação de um evento é a soma dos pesos, para o usuário, das tags que ele tem. O peso de uma tag é a quantidade
+ * de registros dela em usuario_tag, normalizada pelo total do usuário.
+ * Os vetores esparsos (tag → peso) dos usuários ficam em cache; os eventos de cada tag vêm do EventoTagIndexService,
+ * de modo que uma requisição não consulta a tabela de eventos. Só os K melhores são mantidos, em um heap limitado.
+ * Quando o RecomendacaoBatchService já calculou a lista do usuário (usuario_recomendacao), ela é usada no lugar do cálculo,
+ * desde que tenha sido gravada depois do último evento criado (aqui ou em outra instância); do contrário ela não teria
+ * como conter o evento novo, e o feed volta a ser calculado até a próxima execução do lote.
+ */
+@Service
+public class FeedService {
+
+    /** Quantidade de eventos guardada por usuário em usuario_recomendacao. */
+    public static final int TAMANHO_RECOMENDACAO = 50;
+
+    private static final String SQL_RECOMENDACAO = "SELECT ur.ids_evento, ur.dt_atualizacao FROM usuario_recomendacao ur WHERE ur.cd_consumidor = ?";
+
+    /** Na subida não se sabe quando foi o último cadastro; a última alteração de evento é um limite seguro para ele. */
+    private static final String SQL_ULTIMA_ALTERACAO = "SELECT max(e.dt_atualizacao) FROM evento e";
+
+    /** Folga para a diferença entre o relógio do banco (dt_atualizacao) e o da aplicação. */
+    private static final Duration MARGEM_RELOGIO = Duration.ofMinutes(1);
+
+    private static final String SQL_PESOS_DO_USUARIO = "SELECT ut.cd_tag, count(*) FROM usuario_tag ut " +
+            "WHERE ut.cd_consumidor = ? GROUP BY ut.cd_tag";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventoService eventoService;
+    private final EventoTagIndexService eventoTagIndexService;
+    private final EventoIntervaloIndexService eventoIntervaloIndexService;
+
+    private final Cache<Long, Map<Long, Double>> pesosPorUsuario = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    private final AtomicReference<LocalDateTime> ultimaCriacao = new AtomicReference<>();
+
+    public FeedService(JdbcTemplate jdbcTemplate, EventoService eventoService, EventoTagIndexService eventoTagIndexService,
+                       EventoIntervaloIndexService eventoIntervaloIndexService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventoService = eventoService;
+        this.eventoTagIndexService = eventoTagIndexService;
+        this.eventoIntervaloIndexService = eventoIntervaloIndexService;
+    }
+
+    /**
+     * @param limit quantidade máxima de eventos no feed.
+     * @return eventos em ordem decrescente de afinidade; vazio se o usuário não tem tags de interesse.
+     */
+    public List<EventoDTO> getFeed(Long idUsuario, int limit) {
+        int k = Math.max(1, Math.min(limit, EventoService.TAMANHO_MAXIMO_PAGINA));
+        LocalDateTime agora = LocalDateTime.now();
+        List<Long> ids = getRecomendacaoPreCalculada(idUsuario, k, agora);
+        if (ids == null) {
+            ids = recomendar(getPesos(idUsuario), k, agora);
+        }
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<EventoDTO> eventos = eventoService.getEventosPorIds(ids);
+        return eventos != null ? eventos : Collections.emptyList();
+    }
+
+    /**
+     * Lista pré-calculada do usuário, sem os eventos que já terminaram ou foram desativados depois do cálculo.
+     * @return null quando não há lista, quando ela é anterior ao último evento criado ou quando não tem eventos
+     * suficientes para o limite pedido.
+     */
+    private List<Long> getRecomendacaoPreCalculada(Long idUsuario, int k, LocalDateTime agora) {
+        Long[] guardados = jdbcTemplate.query(SQL_RECOMENDACAO, rs -> {
+            if (!rs.next() || desatualizada(rs.getTimestamp(2).toLocalDateTime())) {
+                return null;
+            }
+            return (Long[]) rs.getArray(1).getArray();
+        }, idUsuario);
+        if (guardados == null) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(Math.min(k, guardados.length));
+        for (Long idEvento : guardados) {
+            if (ids.size() == k) {
+                break;
+            }
+            if (eventoIntervaloIndexService.isEmAndamentoOuFuturo(idEvento, agora)) {
+                ids.add(idEvento);
+            }
+        }
+        boolean listaCompleta = guardados.length < TAMANHO_RECOMENDACAO;
+        return ids.size() == k || listaCompleta ? ids : null;
+    }
+
+    /**
+     * Pontua os candidatos com os pesos e devolve os ids dos k melhores, do maior para o menor.
+     * Empates ficam com o menor id (evento cadastrado antes).
+     */
+    List<Long> recomendar(Map<Long, Double> pesos, int k, LocalDateTime agora) {
+        if (pesos.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, Double> pontuacoes = new HashMap<>();
+        pesos.forEach((idTag, peso) ->
+                eventoTagIndexService.paraCadaEventoAtivo(idTag, idEvento -> pontuacoes.merge(idEvento, peso, Double::sum)));
+
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(k + 1, Candidato.PIOR_PRIMEIRO);
+        pontuacoes.forEach((idEvento, pontuacao) -> {
+            Candidato candidato = new Candidato(idEvento, pontuacao);
+            if (melhores.size() < k) {
+                if (eventoIntervaloIndexService.isEmAndamentoOuFuturo(idEvento, agora)) {
+                    melhores.add(candidato);
+                }
+            } else if (Candidato.PIOR_PRIMEIRO.compare(candidato, melhores.peek()) > 0
+                    && eventoIntervaloIndexService.isEmAndamentoOuFuturo(idEvento, agora)) {
+                melhores.poll();
+                melhores.add(candidato);
+            }
+        });
+
+        Long[] ids = new Long[melhores.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = (long) melhores.poll().getIdEvento();
+        }
+        return Arrays.asList(ids);
+    }
+
+    /**
+     * Vetor esparso de tag para peso do usuário, somando 1.
+     */
+    Map<Long, Double> getPesos(Long idUsuario) {
+        return pesosPorUsuario.get(idUsuario, id -> {
+            Map<Long, Long> contagens = new HashMap<>();
+            jdbcTemplate.query(SQL_PESOS_DO_USUARIO, rs -> {
+                contagens.put(rs.getLong(1), rs.getLong(2));
+            }, id);
+            return normalizar(contagens);
+        });
+    }
+
+    /**
+     * Converte a contagem de registros por tag em pesos que somam 1.
+     */
+    static Map<Long, Double> normalizar(Map<Long, Long> contagens) {
+        long total = contagens.values().stream().mapToLong(Long::longValue).sum();
+        Map<Long, Double> pesos = new HashMap<>(contagens.size() * 2);
+        contagens.forEach((idTag, contagem) -> pesos.put(idTag, (double) contagem / total));
+        return Collections.unmodifiableMap(pesos);
+    }
+
+    private boolean desatualizada(LocalDateTime calculadaEm) {
+        LocalDateTime criacao = ultimaCriacao.get();
+        return criacao != null && calculadaEm.isBefore(criacao.plus(MARGEM_RELOGIO));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarUltimaCriacao() {
+        LocalDateTime ultimaAlteracao = jdbcTemplate.queryForObject(SQL_ULTIMA_ALTERACAO, LocalDateTime.class);
+        if (ultimaAlteracao != null) {
+            registrarCriacao(ultimaAlteracao);
+        }
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        if (evento.getTipo() == EventoAlteradoEvent.Tipo.CRIADO) {
+            registrarCriacao(LocalDateTime.now());
+        }
+    }
+
+    private void registrarCriacao(LocalDateTime momento) {
+        ultimaCriacao.accumulateAndGet(momento, (atual, novo) -> atual == null || novo.isAfter(atual) ? novo : atual);
+    }
+
+    @EventListener
+    public void onUsuarioTagAlterado(UsuarioTagAlteradoEvent evento) {
+        pesosPorUsuario.invalidate(evento.getIdConsumidor());
+    }
+
+    @AllArgsConstructor
+    @Getter
+    private static class Candidato {
+        /** Ordem do heap: o pior candidato (menor pontuação; no empate, maior id) fica no topo. */
+        static final Comparator<Candidato> PIOR_PRIMEIRO = Comparator.comparingDouble(Candidato::getPontuacao)
+                .thenComparing(Comparator.comparingInt(Candidato::getIdEvento).reversed());
+
+        private final int idEvento;
+        private final double pontuacao;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Class: InteresseContadorService
+ * Description: Striped in-memory interest counters reconciled into evento.qt_interesse in batches.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Toda escrita de interesse (InteresseService e add-interesse) passa por aqui depois do commit: a variação é acumulada
+ * em um LongAdder por evento, sem disputar a linha do evento no banco, e as leituras somam o que ainda está pendente.
+ * Periodicamente os eventos alterados saem do mapa e têm qt_interesse recalculado a partir da tabela interesse, em um
+ * UPDATE por lote. Como o valor é recontado, e não incrementado, a gravação é idempotente: nada é contado duas vezes
+ * e um incremento que chegue durante a retirada já está no banco quando a contagem é feita.
+ * Se o lote falhar, os eventos voltam para o mapa e são recontados na próxima execução.
+ */
+@Service
+public class InteresseContadorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteresseContadorService.class);
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private static final String SQL_RECONTAR = "UPDATE evento e SET qt_interesse = c.qt_interesse " +
+            "FROM (SELECT v.id_evento, COUNT(i.id_interesse) AS qt_interesse " +
+            "FROM unnest(?) AS v(id_evento) " +
+            "LEFT JOIN interesse i ON i.cd_evento = v.id_evento " +
+            "GROUP BY v.id_evento) c " +
+            "WHERE e.id_evento = c.id_evento " +
+            "AND e.qt_interesse IS DISTINCT FROM c.qt_interesse";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LongAdder> pendentes = new ConcurrentHashMap<>();
+
+    public InteresseContadorService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Deve ser chamado depois que a escrita na tabela interesse foi confirmada.
+     */
+    public void registrar(long idEvento, int variacao) {
+        pendentes.computeIfAbsent(idEvento, id -> new LongAdder()).add(variacao);
+    }
+
+    /**
+     * @return variação ainda não gravada no banco para o evento.
+     */
+    public long getPendente(long idEvento) {
+        LongAdder contador = pendentes.get(idEvento);
+        return contador != null ? contador.sum() : 0;
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        if (evento.getTipo() == EventoAlteradoEvent.Tipo.EXCLUIDO) {
+            evento.getIdsEventos().forEach(pendentes::remove);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${praceando.interesse.intervalo-gravacao:PT5S}")
+    public void agendarGravacao() {
+        try {
+            gravar();
+        } catch (RuntimeException e) {
+            logger.error("Erro ao gravar a quantidade de interesses dos eventos.", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        gravar();
+    }
+
+    /**
+     * Retira do mapa os eventos pendentes e reconta qt_interesse deles em lotes de até TAMANHO_LOTE eventos.
+     */
+    public synchronized void gravar() {
+        List<Long> ids = new ArrayList<>(pendentes.keySet());
+        for (int de = 0; de < ids.size(); de += TAMANHO_LOTE) {
+            Map<Long, LongAdder> lote = new HashMap<>();
+            for (Long idEvento : ids.subList(de, Math.min(de + TAMANHO_LOTE, ids.size()))) {
+                LongAdder contador = pendentes.remove(idEvento);
+                if (contador != null) {
+                    lote.put(idEvento, contador);
+                }
+            }
+            if (lote.isEmpty()) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(SQL_RECONTAR);
+                    SqlArrays.bind(ps, 1, SqlArrays.BIGINT, lote.keySet());
+                    return ps;
+                });
+            } catch (RuntimeException e) {
+                lote.forEach((idEvento, contador) -> registrar(idEvento, contador.intValue()));
+                throw e;
+            }
+        }
+    }
+}
@@ -3,26 +3,35 @@
  * Description: Service for the Interesse entity
  * Author: Camilla Ucci de Menezes
  * Creation Date: 17/09/2024
- * Last Updated: 17/09/2024
+ * Last Updated: 18/10/2026
  */
 
 package blomera.praceando.praceandoapipg.service;
 
+import blomera.praceando.praceandoapipg.event.InteresseRegistradoEvent;
+import blomera.praceando.praceandoapipg.model.Evento;
 import blomera.praceando.praceandoapipg.model.Interesse;
 import blomera.praceando.praceandoapipg.repository.InteresseRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class InteresseService {
 
     private final InteresseRepository interesseRepository;
+    private final InteresseContadorService interesseContadorService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public InteresseService(InteresseRepository interesseRepository) {
+    public InteresseService(InteresseRepository interesseRepository, InteresseContadorService interesseContadorService,
+                            ApplicationEventPublisher eventPublisher) {
         this.interesseRepository = interesseRepository;
+        this.interesseContadorService = interesseContadorService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -46,7 +55,10 @@ public class InteresseService {
      */
     public Interesse deleteInteresseById(Long id) {
         Interesse interesse = getInteresseById(id);
-        if (interesse != null) interesseRepository.deleteById(id);
+        if (interesse != null) {
+            interesseRepository.deleteById(id);
+            if (interesse.getEvento() != null) interesseContadorService.registrar(interesse.getEvento().getId(), -1);
+        }
         return interesse;
     }
 
@@ -56,7 +68,12 @@ public class InteresseService {
     public Interesse saveInteresse(Interesse interesse) {
         interesse.setDtAtualizacao(LocalDateTime.now());
 
-        return interesseRepository.save(interesse);
+        Interesse novoInteresse = interesseRepository.save(interesse);
+        if (novoInteresse.getEvento() != null) {
+            interesseContadorService.registrar(novoInteresse.getEvento().getId(), 1);
+            publicarInteresse(novoInteresse);
+        }
+        return novoInteresse;
     }
 
     /**
@@ -68,11 +85,28 @@ public class InteresseService {
     public Interesse updateInteresse(Long id, Interesse interesse) {
         Interesse existingInteresse = getInteresseById(id);
         if (existingInteresse != null) {
+            Evento eventoAnterior = existingInteresse.getEvento();
             existingInteresse.setConsumidor(interesse.getConsumidor());
             existingInteresse.setEvento(interesse.getEvento());
             existingInteresse.setDtAtualizacao(LocalDateTime.now());
-            return interesseRepository.save(existingInteresse);
+            Interesse interesseAtualizado = interesseRepository.save(existingInteresse);
+
+            Long idAnterior = eventoAnterior != null ? eventoAnterior.getId() : null;
+            Long idAtual = interesse.getEvento() != null ? interesse.getEvento().getId() : null;
+            if (!Objects.equals(idAnterior, idAtual)) {
+                if (idAnterior != null) interesseContadorService.registrar(idAnterior, -1);
+                if (idAtual != null) {
+                    interesseContadorService.registrar(idAtual, 1);
+                    publicarInteresse(interesseAtualizado);
+                }
+            }
+            return interesseAtualizado;
         }
         return null;
     }
+
+    private void publicarInteresse(Interesse interesse) {
+        Long idConsumidor = interesse.getConsumidor() != null ? interesse.getConsumidor().getId() : null;
+        eventPublisher.publishEvent(new InteresseRegistradoEvent(interesse.getEvento().getId(), idConsumidor));
+    }
 }
@@ -3,14 +3,16 @@
  * Description: Service for the Local entity.
  * Author: Camilla Ucci de Menezes
  * Creation Date: 16/09/2024
- * Last Updated: 16/09/2024
+ * Last Updated: 18/10/2026
  */
 
 package blomera.praceando.praceandoapipg.service;
 
+import blomera.praceando.praceandoapipg.event.LocalAlteradoEvent;
 import blomera.praceando.praceandoapipg.model.Evento;
 import blomera.praceando.praceandoapipg.model.Local;
 import blomera.praceando.praceandoapipg.repository.LocalRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -21,9 +23,11 @@ import java.util.Optional;
 public class LocalService {
 
     private final LocalRepository localRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LocalService(LocalRepository localRepository) {
+    public LocalService(LocalRepository localRepository, ApplicationEventPublisher eventPublisher) {
         this.localRepository = localRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -47,7 +51,10 @@ public class LocalService {
      */
     public Local deleteLocalById(Long id) {
         Local local = getLocalById(id);
-        if (local != null) localRepository.deleteById(id);
+        if (local != null) {
+            localRepository.deleteById(id);
+            eventPublisher.publishEvent(new LocalAlteradoEvent(id));
+        }
         return local;
     }
 
@@ -57,7 +64,9 @@ public class LocalService {
     public Local saveLocal(Local local) {
         local.setDtAtualizacao(LocalDateTime.now());
 
-        return localRepository.save(local);
+        Local novoLocal = localRepository.save(local);
+        eventPublisher.publishEvent(new LocalAlteradoEvent(novoLocal.getId()));
+        return novoLocal;
     }
 
     /**
@@ -75,7 +84,9 @@ public class LocalService {
             existingLocal.setHrAbertura(local.getHrAbertura());
             existingLocal.setHrFechamento(local.getHrFechamento());
             existingLocal.setDtAtualizacao(LocalDateTime.now());
-            return localRepository.save(existingLocal);
+            Local localAtualizado = localRepository.save(existingLocal);
+            eventPublisher.publishEvent(new LocalAlteradoEvent(id));
+            return localAtualizado;
         }
         return null;
     }
@@ -89,6 +100,7 @@ public class LocalService {
             Local l = local.get();
             l.setDtDesativacao(LocalDateTime.now());
             localRepository.save(l);
+            eventPublisher.publishEvent(new LocalAlteradoEvent(id));
         }
         return local;
     }
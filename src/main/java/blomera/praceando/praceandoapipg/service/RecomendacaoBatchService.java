@@ -0,0 +1,197 @@
+/*
+ * Class: RecomendacaoBatchService
+ * Description: Background precomputation of per-consumer recommendation lists.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.event.UsuarioTagAlteradoEvent;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pré-calcula, fora das requisições, os TAMANHO_RECOMENDACAO melhores eventos de cada consumidor com a mesma
+ * pontuação do FeedService e grava a lista em usuario_recomendacao.
+ * O cálculo completo roda de madrugada em uma única instância (advisory lock do Postgres), dividindo os consumidores
+ * em partições processadas em um ForkJoinPool. Entre execuções, só os consumidores cujas tags mudaram
+ * (add-interesse) são recalculados, pela instância que recebeu a alteração.
+ */
+@Service
+public class RecomendacaoBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecomendacaoBatchService.class);
+
+    /** Chave do advisory lock que impede duas instâncias de rodarem o cálculo completo ao mesmo tempo. */
+    private static final long CHAVE_LOCK = 0x5052_4543L;
+
+    private static final int TAMANHO_PARTICAO = 500;
+
+    private static final String SQL_CONSUMIDORES = "SELECT DISTINCT ut.cd_consumidor FROM usuario_tag ut";
+
+    private static final String SQL_PESOS = "SELECT ut.cd_consumidor, ut.cd_tag, count(*) FROM usuario_tag ut " +
+            "WHERE ut.cd_consumidor = ANY (?) GROUP BY ut.cd_consumidor, ut.cd_tag";
+
+    private static final String SQL_GRAVAR = "INSERT INTO usuario_recomendacao (cd_consumidor, ids_evento, dt_atualizacao) VALUES (?, ?, now()) " +
+            "ON CONFLICT (cd_consumidor) DO UPDATE SET ids_evento = EXCLUDED.ids_evento, dt_atualizacao = EXCLUDED.dt_atualizacao";
+
+    private static final String SQL_REMOVER_SEM_TAGS = "DELETE FROM usuario_recomendacao ur " +
+            "WHERE NOT EXISTS (SELECT 1 FROM usuario_tag ut WHERE ut.cd_consumidor = ur.cd_consumidor)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedService feedService;
+    private final ForkJoinPool pool;
+
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+
+    public RecomendacaoBatchService(JdbcTemplate jdbcTemplate, FeedService feedService,
+                                    @Value("${praceando.recomendacao.paralelismo:2}") int paralelismo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.feedService = feedService;
+        this.pool = new ForkJoinPool(paralelismo);
+    }
+
+    @EventListener
+    public void onUsuarioTagAlterado(UsuarioTagAlteradoEvent evento) {
+        pendentes.add(evento.getIdConsumidor());
+    }
+
+    /**
+     * Recalcula só os consumidores alterados desde a última execução.
+     */
+    @Scheduled(fixedDelayString = "${praceando.recomendacao.intervalo:PT1M}")
+    public void recalcularPendentes() {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        List<Long> consumidores = new ArrayList<>(pendentes);
+        pendentes.removeAll(consumidores);
+        try {
+            calcular(consumidores);
+        } catch (RuntimeException e) {
+            pendentes.addAll(consumidores);
+            logger.error("Erro ao recalcular as recomendações de {} consumidores.", consumidores.size(), e);
+        }
+    }
+
+    /**
+     * Recalcula todos os consumidores com tags, se nenhuma outra instância estiver fazendo o mesmo.
+     */
+    @Scheduled(cron = "${praceando.recomendacao.cron:0 0 4 * * *}")
+    public void recalcularTodos() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            if (!advisoryLock(con, "SELECT pg_try_advisory_lock(?)")) {
+                logger.info("Cálculo de recomendações já em andamento em outra instância.");
+                return null;
+            }
+            try {
+                long inicio = System.currentTimeMillis();
+                List<Long> consumidores = jdbcTemplate.queryForList(SQL_CONSUMIDORES, Long.class);
+                pendentes.removeAll(consumidores);
+                calcular(consumidores);
+                jdbcTemplate.update(SQL_REMOVER_SEM_TAGS);
+                logger.info("Recomendações calculadas para {} consumidores em {} ms.", consumidores.size(), System.currentTimeMillis() - inicio);
+            } catch (RuntimeException e) {
+                logger.error("Erro no cálculo completo das recomendações.", e);
+            } finally {
+                advisoryLock(con, "SELECT pg_advisory_unlock(?)");
+            }
+            return null;
+        });
+    }
+
+    private static boolean advisoryLock(Connection con, String sql) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, CHAVE_LOCK);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void calcular(List<Long> consumidores) {
+        if (!consumidores.isEmpty()) {
+            pool.invoke(new Particao(consumidores, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Divide a lista de consumidores ao meio até chegar a TAMANHO_PARTICAO, que é processada com uma consulta
+     * de pesos e uma gravação em lote.
+     */
+    private class Particao extends RecursiveAction {
+        private final List<Long> consumidores;
+        private final LocalDateTime agora;
+
+        Particao(List<Long> consumidores, LocalDateTime agora) {
+            this.consumidores = consumidores;
+            this.agora = agora;
+        }
+
+        @Override
+        protected void compute() {
+            if (consumidores.size() > TAMANHO_PARTICAO) {
+                int meio = consumidores.size() / 2;
+                invokeAll(new Particao(consumidores.subList(0, meio), agora),
+                        new Particao(consumidores.subList(meio, consumidores.size()), agora));
+            } else {
+                processar(consumidores, agora);
+            }
+        }
+    }
+
+    private void processar(List<Long> consumidores, LocalDateTime agora) {
+        Map<Long, Map<Long, Long>> contagens = new HashMap<>(consumidores.size() * 2);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_PESOS);
+            SqlArrays.bind(ps, 1, SqlArrays.BIGINT, consumidores);
+            return ps;
+        }, rs -> {
+            contagens.computeIfAbsent(rs.getLong(1), k -> new HashMap<>()).put(rs.getLong(2), rs.getLong(3));
+        });
+
+        List<Long> ids = new ArrayList<>(contagens.size());
+        List<List<Long>> recomendacoes = new ArrayList<>(contagens.size());
+        contagens.forEach((idConsumidor, porTag) -> {
+            ids.add(idConsumidor);
+            recomendacoes.add(feedService.recomendar(FeedService.normalizar(porTag), FeedService.TAMANHO_RECOMENDACAO, agora));
+        });
+
+        jdbcTemplate.batchUpdate(SQL_GRAVAR, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+                SqlArrays.bind(ps, 2, SqlArrays.BIGINT, recomendacoes.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Class: TagDicionarioService
+ * Description: In-memory name to id dictionary of the active tags.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.event.TagAlteradaEvent;
+import blomera.praceando.praceandoapipg.model.Tag;
+import blomera.praceando.praceandoapipg.repository.TagRepository;
+import blomera.praceando.praceandoapipg.util.Textos;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Dicionário nome ↔ id das tags ativas, com nomes comparados sem diferenciar maiúsculas nem espaços nas pontas.
+ * Fica em um snapshot imutável trocado por inteiro: é carregado ao subir a aplicação, recarregado a cada TagAlteradaEvent,
+ * inclusive os que chegam de outras instâncias pelo Redis, e periodicamente, para alterações feitas fora da API.
+ * Permite rejeitar tags desconhecidas antes de qualquer ida ao banco e serve, também da memória, o autocompletar
+ * (chaves sem acentos por início de palavra, em vetor ordenado) e a lista de tags agrupadas por categoria.
+ */
+@Service
+public class TagDicionarioService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TagDicionarioService.class);
+
+    public static final int LIMITE_MAXIMO_SUGESTOES = 50;
+
+    public static final String SEM_CATEGORIA = "Sem categoria";
+
+    @AllArgsConstructor
+    @Getter
+    public static class Entrada {
+        private final long id;
+        private final String nmTag;
+        private final String dsCategoria;
+    }
+
+    private static final class Dicionario {
+        private final Map<String, Entrada> porNome;
+        private final Map<Long, Entrada> porId;
+        private final Map<String, List<Entrada>> porCategoria;
+        private final String[] chaves;
+        private final Entrada[] donos;
+
+        private Dicionario(Map<String, Entrada> porNome, Map<Long, Entrada> porId) {
+            this.porNome = porNome;
+            this.porId = porId;
+
+            List<Entrada> ordenadas = new ArrayList<>(porId.values());
+            ordenadas.sort(Comparator.comparing((Entrada entrada) -> Textos.normalizar(entrada.getNmTag()))
+                    .thenComparingLong(Entrada::getId));
+
+            Map<String, List<Entrada>> categorias = new TreeMap<>();
+            List<Map.Entry<String, Entrada>> entradas = new ArrayList<>(ordenadas.size() * 2);
+            for (Entrada entrada : ordenadas) {
+                String categoria = entrada.getDsCategoria() != null && !entrada.getDsCategoria().isBlank()
+                        ? entrada.getDsCategoria().trim() : SEM_CATEGORIA;
+                categorias.computeIfAbsent(categoria, k -> new ArrayList<>()).add(entrada);
+
+                String normalizado = Textos.normalizar(entrada.getNmTag());
+                for (int inicio = 0; inicio < normalizado.length(); ) {
+                    entradas.add(Map.entry(normalizado.substring(inicio), entrada));
+                    int espaco = normalizado.indexOf(' ', inicio);
+                    inicio = espaco < 0 ? normalizado.length() : espaco + 1;
+                }
+            }
+            categorias.replaceAll((categoria, tags) -> List.copyOf(tags));
+            this.porCategoria = Collections.unmodifiableMap(categorias);
+
+            entradas.sort(Map.Entry.comparingByKey());
+            this.chaves = new String[entradas.size()];
+            this.donos = new Entrada[entradas.size()];
+            for (int i = 0; i < entradas.size(); i++) {
+                chaves[i] = entradas.get(i).getKey();
+                donos[i] = entradas.get(i).getValue();
+            }
+        }
+
+        /**
+         * @return a primeira posição cuja chave não é menor que a informada.
+         */
+        private int primeiraPosicao(String chave) {
+            int baixo = 0;
+            int alto = chaves.length;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (chaves[meio].compareTo(chave) < 0) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+
+    private final TagRepository tagRepository;
+
+    private volatile Dicionario dicionario = new Dicionario(Map.of(), Map.of());
+
+    public TagDicionarioService(TagRepository tagRepository) {
+        this.tagRepository = tagRepository;
+    }
+
+    /**
+     * Relê as tags ativas e publica um novo dicionário. Em caso de nomes que só diferem em maiúsculas,
+     * prevalece a tag de menor id.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${praceando.tag.recarga:PT5M}", initialDelayString = "${praceando.tag.recarga:PT5M}")
+    public void recarregar() {
+        try {
+            List<Tag> tags = new ArrayList<>(tagRepository.findAll());
+            tags.sort(Comparator.comparingLong(Tag::getId));
+
+            Map<String, Entrada> porNome = new HashMap<>(tags.size() * 2);
+            Map<Long, Entrada> porId = new HashMap<>(tags.size() * 2);
+            for (Tag tag : tags) {
+                if (tag.getDtDesativacao() != null || tag.getNmTag() == null) {
+                    continue;
+                }
+                Entrada entrada = new Entrada(tag.getId(), tag.getNmTag(), tag.getDsCategoria());
+                porNome.putIfAbsent(Textos.chaveNome(tag.getNmTag()), entrada);
+                porId.put(entrada.getId(), entrada);
+            }
+            dicionario = new Dicionario(Collections.unmodifiableMap(porNome), Collections.unmodifiableMap(porId));
+            logger.debug("Dicionário de tags recarregado: {} tags.", porId.size());
+        } catch (Exception e) {
+            logger.error("Erro ao recarregar o dicionário de tags.", e);
+        }
+    }
+
+    @EventListener
+    public void onTagAlterada(TagAlteradaEvent tag) {
+        recarregar();
+    }
+
+    /**
+     * @return id da tag ativa com o nome informado, ou null se não existir.
+     */
+    public Long getId(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        Entrada entrada = dicionario.porNome.get(Textos.chaveNome(nome));
+        return entrada != null ? entrada.getId() : null;
+    }
+
+    /**
+     * @return nome cadastrado da tag ativa, ou null se não existir.
+     */
+    public String getNome(Long id) {
+        Entrada entrada = id != null ? dicionario.porId.get(id) : null;
+        return entrada != null ? entrada.getNmTag() : null;
+    }
+
+    /**
+     * Converte os nomes nos ids das tags, na ordem recebida e sem repetições.
+     * @throws IllegalArgumentException se algum nome não corresponder a uma tag ativa.
+     */
+    public List<Long> resolverIds(Collection<String> nomes) {
+        return resolver(nomes).stream().map(Entrada::getId).toList();
+    }
+
+    /**
+     * Converte os nomes para a grafia cadastrada, na ordem recebida e sem repetições.
+     * @throws IllegalArgumentException se algum nome não corresponder a uma tag ativa.
+     */
+    public List<String> resolverNomes(Collection<String> nomes) {
+        return resolver(nomes).stream().map(Entrada::getNmTag).toList();
+    }
+
+    /**
+     * @return até {@code limite} tags ativas com alguma palavra do nome começando pelo prefixo (ignorando acentos e
+     * maiúsculas), em ordem alfabética.
+     */
+    public List<Entrada> sugerir(String prefixo, int limite) {
+        String chave = prefixo != null ? Textos.normalizar(prefixo) : "";
+        if (chave.isEmpty()) {
+            throw new IllegalArgumentException("Informe o prefixo.");
+        }
+        int maximo = Math.max(1, Math.min(limite, LIMITE_MAXIMO_SUGESTOES));
+        Dicionario atual = dicionario;
+        int ate = atual.primeiraPosicao(chave + Character.MAX_VALUE);
+
+        // Uma tag pode aparecer em mais de uma chave do prefixo (uma por palavra).
+        Set<Entrada> encontradas = new LinkedHashSet<>();
+        for (int i = atual.primeiraPosicao(chave); i < ate; i++) {
+            encontradas.add(atual.donos[i]);
+        }
+        List<Entrada> sugestoes = new ArrayList<>(encontradas);
+        sugestoes.sort(Comparator.comparing((Entrada entrada) -> Textos.normalizar(entrada.getNmTag()))
+                .thenComparingLong(Entrada::getId));
+        return sugestoes.subList(0, Math.min(maximo, sugestoes.size()));
+    }
+
+    /**
+     * @return as tags ativas agrupadas por categoria, com categorias e tags em ordem alfabética;
+     * tags sem categoria ficam em {@link #SEM_CATEGORIA}.
+     */
+    public Map<String, List<Entrada>> getPorCategoria() {
+        return dicionario.porCategoria;
+    }
+
+    private List<Entrada> resolver(Collection<String> nomes) {
+        if (nomes == null) {
+            return List.of();
+        }
+        Dicionario atual = dicionario;
+        Map<Long, Entrada> entradas = new LinkedHashMap<>();
+        for (String nome : nomes) {
+            Entrada entrada = nome != null ? atual.porNome.get(Textos.chaveNome(nome)) : null;
+            if (entrada == null) {
+                throw new IllegalArgumentException("Tag não encontrada: " + nome);
+            }
+            entradas.putIfAbsent(entrada.getId(), entrada);
+        }
+        return new ArrayList<>(entradas.values());
+    }
+}
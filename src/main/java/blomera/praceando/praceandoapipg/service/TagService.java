@@ -3,14 +3,16 @@
  * Description: Service for the Tag entity.
  * Author: Camilla Ucci de Menezes
  * Creation Date: 18/09/2024
- * Last Updated: 18/09/2024
+ * Last Updated: 18/10/2026
  */
 
 package blomera.praceando.praceandoapipg.service;
 
+import blomera.praceando.praceandoapipg.event.TagAlteradaEvent;
 import blomera.praceando.praceandoapipg.model.Tag;
 import blomera.praceando.praceandoapipg.model.Usuario;
 import blomera.praceando.praceandoapipg.repository.TagRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -21,9 +23,11 @@ import java.util.Optional;
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, ApplicationEventPublisher eventPublisher) {
         this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -47,7 +51,10 @@ public class TagService {
      */
     public Tag deleteTagById(Long id) {
         Tag tag = getTagById(id);
-        if (tag != null) tagRepository.deleteById(id);
+        if (tag != null) {
+            tagRepository.deleteById(id);
+            eventPublisher.publishEvent(new TagAlteradaEvent(id));
+        }
         return tag;
     }
 
@@ -57,7 +64,9 @@ public class TagService {
     public Tag saveTag(Tag tag) {
         tag.setDtAtualizacao(LocalDateTime.now());
 
-        return tagRepository.save(tag);
+        Tag salva = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagAlteradaEvent(salva.getId()));
+        return salva;
     }
 
     /**
@@ -72,7 +81,9 @@ public class TagService {
             existingTag.setNmTag(tag.getNmTag());
             existingTag.setDsCategoria(tag.getDsCategoria());
             existingTag.setDtAtualizacao(LocalDateTime.now());
-            return tagRepository.save(existingTag);
+            Tag salva = tagRepository.save(existingTag);
+            eventPublisher.publishEvent(new TagAlteradaEvent(id));
+            return salva;
         }
         return null;
     }
@@ -86,6 +97,7 @@ public class TagService {
             Tag t = tag.get();
             t.setDtDesativacao(LocalDateTime.now());
             tagRepository.save(t);
+            eventPublisher.publishEvent(new TagAlteradaEvent(id));
         }
         return tag;
     }
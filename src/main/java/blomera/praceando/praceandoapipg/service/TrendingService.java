@@ -0,0 +1,180 @@
+/*
+ * Class: TrendingService
+ * Description: Trending events from sliding-window, time-decayed interest counters.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import blomera.praceando.praceandoapipg.event.EventoAlteradoEvent;
+import blomera.praceando.praceandoapipg.event.InteresseRegistradoEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Eventos em alta pelos interesses recentes. Cada evento tem um anel de BALDES contadores por hora, sem locks,
+ * alimentado pelos interesses registrados (add-interesse e InteresseService); a pontuação soma os baldes das últimas BALDES horas com decaimento exponencial
+ * (meia-vida de MEIA_VIDA_HORAS horas).
+ * O ranking é recalculado a cada minuto só para os eventos que receberam interesse desde o último cálculo: as pontuações
+ * são referenciadas a uma hora fixa, então o decaimento comum não muda a ordem dos demais. Na virada da hora, quando
+ * baldes saem da janela, todos são recalculados. Os contadores são da instância, sem consultar a tabela interesse.
+ */
+@Service
+public class TrendingService {
+
+    public static final int TAMANHO_RANKING = 50;
+
+    private static final int BALDES = 24;
+    private static final double MEIA_VIDA_HORAS = 6;
+    private static final double LAMBDA = Math.log(2) / MEIA_VIDA_HORAS;
+
+    private final EventoService eventoService;
+    private final EventoIntervaloIndexService eventoIntervaloIndexService;
+
+    private final Map<Long, Contador> contadores = new ConcurrentHashMap<>();
+    private final Set<Long> alterados = ConcurrentHashMap.newKeySet();
+
+    /** Usados só pela tarefa agendada. */
+    private final Map<Long, Double> pontuacoes = new HashMap<>();
+    private long horaReferencia = -1;
+
+    private volatile List<Long> ranking = Collections.emptyList();
+
+    public TrendingService(EventoService eventoService, EventoIntervaloIndexService eventoIntervaloIndexService) {
+        this.eventoService = eventoService;
+        this.eventoIntervaloIndexService = eventoIntervaloIndexService;
+    }
+
+    /**
+     * Incrementa sem lock; se o contador foi retirado do mapa entre a leitura e o incremento (pontuação zerada),
+     * o incremento é refeito no contador atual.
+     */
+    @EventListener
+    public void onInteresseRegistrado(InteresseRegistradoEvent interesse) {
+        Long idEvento = interesse.getIdEvento();
+        long hora = horaAtual();
+        Contador contador;
+        do {
+            contador = contadores.computeIfAbsent(idEvento, id -> new Contador());
+            contador.incrementar(hora);
+        } while (contadores.get(idEvento) != contador);
+        alterados.add(idEvento);
+    }
+
+    @EventListener
+    public void onEventoAlterado(EventoAlteradoEvent evento) {
+        if (evento.getTipo() == EventoAlteradoEvent.Tipo.DESATIVADO || evento.getTipo() == EventoAlteradoEvent.Tipo.EXCLUIDO) {
+            evento.getIdsEventos().forEach(contadores::remove);
+            alterados.addAll(evento.getIdsEventos());
+        }
+    }
+
+    /**
+     * @param limit quantidade máxima de eventos, até TAMANHO_RANKING.
+     * @return eventos em alta, do maior para o menor interesse recente.
+     */
+    public List<EventoDTO> getTrending(int limit) {
+        List<Long> atual = ranking;
+        int tamanho = Math.max(1, Math.min(limit, TAMANHO_RANKING));
+        if (atual.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<EventoDTO> eventos = eventoService.getEventosPorIds(new ArrayList<>(atual.subList(0, Math.min(tamanho, atual.size()))));
+        return eventos != null ? eventos : Collections.emptyList();
+    }
+
+    @Scheduled(fixedDelayString = "${praceando.trending.intervalo:PT1M}")
+    public void atualizarRanking() {
+        long hora = horaAtual();
+        if (hora != horaReferencia) {
+            horaReferencia = hora;
+            alterados.clear();
+            pontuacoes.clear();
+            contadores.forEach((idEvento, contador) -> atualizarPontuacao(idEvento, contador, hora));
+        } else if (!alterados.isEmpty()) {
+            List<Long> ids = new ArrayList<>(alterados);
+            alterados.removeAll(ids);
+            for (Long idEvento : ids) {
+                atualizarPontuacao(idEvento, contadores.get(idEvento), hora);
+            }
+        } else {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        PriorityQueue<Map.Entry<Long, Double>> melhores = new PriorityQueue<>(TAMANHO_RANKING + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entrada : pontuacoes.entrySet()) {
+            if (!eventoIntervaloIndexService.isEmAndamentoOuFuturo(entrada.getKey(), agora)) {
+                continue;
+            }
+            melhores.add(entrada);
+            if (melhores.size() > TAMANHO_RANKING) {
+                melhores.poll();
+            }
+        }
+        Long[] ids = new Long[melhores.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = melhores.poll().getKey();
+        }
+        ranking = List.of(ids);
+    }
+
+    private void atualizarPontuacao(Long idEvento, Contador contador, long hora) {
+        double pontuacao = contador != null ? contador.pontuacao(hora) : 0;
+        if (pontuacao > 0) {
+            pontuacoes.put(idEvento, pontuacao);
+        } else {
+            pontuacoes.remove(idEvento);
+            if (contador != null) {
+                // Reavalia dentro do compute: um incremento feito depois do cálculo mantém o contador.
+                contadores.computeIfPresent(idEvento, (id, atual) -> atual == contador && atual.pontuacao(hora) <= 0 ? null : atual);
+            }
+        }
+    }
+
+    private static long horaAtual() {
+        return Instant.now().getEpochSecond() / 3600;
+    }
+
+    /**
+     * Anel de contadores por hora. Cada posição guarda a hora (32 bits altos) e a contagem (32 bits baixos)
+     * em um único long, atualizado por CAS: um balde de uma hora antiga é reiniciado no primeiro incremento da nova.
+     */
+    private static final class Contador {
+        private final AtomicLongArray baldes = new AtomicLongArray(BALDES);
+
+        void incrementar(long hora) {
+            int i = (int) (hora % BALDES);
+            long atual;
+            long novo;
+            do {
+                atual = baldes.get(i);
+                novo = (atual >>> 32) == hora ? atual + 1 : (hora << 32) | 1;
+            } while (!baldes.compareAndSet(i, atual, novo));
+        }
+
+        /**
+         * Soma dos baldes da janela, cada um multiplicado por exp(-LAMBDA * idade em horas) em relação a horaReferencia.
+         */
+        double pontuacao(long horaReferencia) {
+            double total = 0;
+            for (int i = 0; i < BALDES; i++) {
+                long valor = baldes.get(i);
+                long idade = horaReferencia - (valor >>> 32);
+                long contagem = valor & 0xFFFF_FFFFL;
+                if (contagem > 0 && idade >= 0 && idade < BALDES) {
+                    total += contagem * Math.exp(-LAMBDA * idade);
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -3,67 +3,72 @@
  * Description: Service for the UsuarioTag entity.
  * Author: Camilla Ucci de Menezes
  * Creation Date: 30/10/2024
- * Last Updated: 30/10/2024
+ * Last Updated: 18/10/2026
  */
 package blomera.praceando.praceandoapipg.service;
 
+import blomera.praceando.praceandoapipg.event.InteresseRegistradoEvent;
+import blomera.praceando.praceandoapipg.event.UsuarioTagAlteradoEvent;
 import blomera.praceando.praceandoapipg.model.Evento;
 import blomera.praceando.praceandoapipg.repository.AcessoRepository;
 import blomera.praceando.praceandoapipg.repository.UsuarioTagRepository;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.sql.CallableStatement;
-import java.sql.SQLException;
 import java.util.List;
 
+/**
+ * Registra as tags de interesse de um consumidor e, opcionalmente, o interesse dele em um evento, pela procedure
+ * PRC_INSERIR_USUARIO_TAG. Depois da chamada o evento é marcado no InteresseContadorService, que reconta
+ * qt_interesse a partir da tabela interesse; assim o valor gravado no evento não depende do que a procedure faz com ele.
+ */
 @Service
 public class UsuarioTagService {
     private final UsuarioTagRepository usuarioTagRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final TagDicionarioService tagDicionarioService;
+    private final InteresseContadorService interesseContadorService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UsuarioTagService(UsuarioTagRepository usuarioTagRepository, JdbcTemplate jdbcTemplate) {
+    public UsuarioTagService(UsuarioTagRepository usuarioTagRepository, JdbcTemplate jdbcTemplate, TagDicionarioService tagDicionarioService,
+                             InteresseContadorService interesseContadorService, ApplicationEventPublisher eventPublisher) {
         this.usuarioTagRepository = usuarioTagRepository;
         this.jdbcTemplate = jdbcTemplate;
+        this.tagDicionarioService = tagDicionarioService;
+        this.interesseContadorService = interesseContadorService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Método para inserir as tags de um usuário.
+     * @throws IllegalArgumentException se alguma tag não existir.
      */
     public void saveUsuarioTag(Integer idConsumidor, Integer idEvento, List<String> tags) {
-        try {
-            java.sql.Array tagsArray;
-            if (tags != null) {
-                tagsArray = jdbcTemplate.getDataSource().getConnection().createArrayOf("VARCHAR", tags.toArray());
-            } else {
-                tagsArray = null;
-            }
-
-            jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
-                    try (CallableStatement callableStatement = con.prepareCall("CALL PRC_INSERIR_USUARIO_TAG(?, ?, ?)")) {
-                    callableStatement.setInt(1, idConsumidor);
-
-                    if (idEvento != null) {
-                        callableStatement.setInt(2, idEvento);
-                    } else {
-                        callableStatement.setNull(2, java.sql.Types.INTEGER);
-                    }
+        List<String> nomesTags = tags != null ? tagDicionarioService.resolverNomes(tags) : null;
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            try (CallableStatement callableStatement = con.prepareCall("CALL PRC_INSERIR_USUARIO_TAG(?, ?, ?)")) {
+                callableStatement.setInt(1, idConsumidor);
 
-                    if (tagsArray != null) {
-                        callableStatement.setArray(3, tagsArray);
-                    } else {
-                        callableStatement.setNull(3, java.sql.Types.ARRAY);
-                    }
-
-                    callableStatement.execute();
-                    return null;
+                if (idEvento != null) {
+                    callableStatement.setInt(2, idEvento);
+                } else {
+                    callableStatement.setNull(2, java.sql.Types.INTEGER);
                 }
-            });
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Erro ao salvar tags do usuário: " + e.getMessage(), e);
+                SqlArrays.bind(callableStatement, 3, SqlArrays.VARCHAR, nomesTags);
+
+                callableStatement.execute();
+                return null;
+            }
+        });
+        eventPublisher.publishEvent(new UsuarioTagAlteradoEvent(idConsumidor.longValue()));
+        if (idEvento != null) {
+            interesseContadorService.registrar(idEvento, 1);
+            eventPublisher.publishEvent(new InteresseRegistradoEvent(idEvento.longValue(), idConsumidor.longValue()));
         }
     }
 
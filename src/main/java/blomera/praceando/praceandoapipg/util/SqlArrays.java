@@ -0,0 +1,43 @@
+/*
+ * Class: SqlArrays
+ * Description: Binding of SQL array parameters on the statement's own connection.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.util;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+
+/**
+ * Cria parâmetros array (VARCHAR[], BIGINT[]...) sempre na conexão do próprio statement, ou seja, na conexão do
+ * callback do JdbcTemplate. Criar o array em {@code dataSource.getConnection()} toma emprestada uma segunda conexão
+ * do pool que nunca é devolvida.
+ */
+public final class SqlArrays {
+
+    public static final String VARCHAR = "varchar";
+    public static final String BIGINT = "bigint";
+
+    private SqlArrays() {
+    }
+
+    /**
+     * Associa a coleção ao parâmetro {@code indice} como um array do tipo informado; coleção nula vira NULL.
+     */
+    public static void bind(PreparedStatement ps, int indice, String tipo, Collection<?> valores) throws SQLException {
+        if (valores == null) {
+            ps.setNull(indice, Types.ARRAY);
+            return;
+        }
+        bind(ps, indice, tipo, valores.toArray());
+    }
+
+    public static void bind(PreparedStatement ps, int indice, String tipo, Object[] valores) throws SQLException {
+        Array array = ps.getConnection().createArrayOf(tipo, valores);
+        ps.setArray(indice, array);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Class: Textos
+ * Description: Text normalization shared by the name lookups and the autocomplete indexes.
+ * Creation Date: 18/10/2026
+ * Last Updated: 18/10/2026
+ */
+package blomera.praceando.praceandoapipg.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizações de texto usadas em mais de um serviço. {@link #normalizar} é a forma frouxa do autocompletar (sem
+ * acentos, maiúsculas nem pontuação); {@link #chaveNome} é a forma usada para reconhecer um nome cadastrado, que só
+ * ignora maiúsculas e espaços nas pontas, para que "Forró" e "Forro" continuem sendo tags diferentes.
+ */
+public final class Textos {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private Textos() {
+    }
+
+    /**
+     * Remove acentos, passa para minúsculas e reduz separadores a um espaço.
+     */
+    public static String normalizar(String texto) {
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Remove os espaços das pontas e passa para minúsculas.
+     */
+    public static String chaveNome(String nome) {
+        return nome.trim().toLowerCase(Locale.ROOT);
+    }
+}
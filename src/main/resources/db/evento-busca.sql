@@ -0,0 +1,18 @@
+-- Busca textual de eventos: coluna tsvector gerada a partir do nome (peso A) e da descrição (peso B),
+-- sem acentos e com o dicionário portuguese, indexada com GIN.
+-- Executado a cada inicialização (spring.sql.init), por isso todos os comandos são idempotentes.
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() não é IMMUTABLE e não pode ser usada em colunas geradas; o dicionário fixo torna o resultado determinístico.
+CREATE OR REPLACE FUNCTION FNC_UNACCENT_IMUTAVEL(texto TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS 'SELECT public.unaccent(''public.unaccent''::regdictionary, texto)';
+
+ALTER TABLE evento ADD COLUMN IF NOT EXISTS ts_busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', FNC_UNACCENT_IMUTAVEL(coalesce(nm_evento, ''))), 'A') ||
+        setweight(to_tsvector('portuguese', FNC_UNACCENT_IMUTAVEL(coalesce(ds_evento, ''))), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_evento_ts_busca ON evento USING GIN (ts_busca);
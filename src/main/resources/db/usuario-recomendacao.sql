@@ -0,0 +1,9 @@
+-- Recomendações pré-calculadas por consumidor (RecomendacaoBatchService): os ids dos melhores eventos,
+-- do mais para o menos recomendado, em uma única linha por consumidor.
+-- Executado a cada inicialização (spring.sql.init), por isso todos os comandos são idempotentes.
+
+CREATE TABLE IF NOT EXISTS usuario_recomendacao (
+    cd_consumidor BIGINT PRIMARY KEY,
+    ids_evento BIGINT[] NOT NULL,
+    dt_atualizacao TIMESTAMP NOT NULL DEFAULT now()
+);
@@ -0,0 +1,91 @@
+package blomera.praceando.praceandoapipg.benchmark;
+
+import blomera.praceando.praceandoapipg.cache.CompactoRedisSerializer;
+import blomera.praceando.praceandoapipg.cache.EventoDTOCodec;
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a serialização do JDK com o CompactoRedisSerializer para os EventoDTO guardados no Redis.
+ * Não precisa de banco nem de Redis. Execução: rodar o main desta classe a partir do classpath de testes;
+ * antes do JMH ele imprime o tamanho do payload de cada serializador.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CacheSerializerBenchmark {
+
+    @Param({"2", "8"})
+    public int quantidadeTags;
+
+    private final RedisSerializer<Object> jdk = new JdkSerializationRedisSerializer();
+    private final RedisSerializer<Object> compacto = new CompactoRedisSerializer(List.of(new EventoDTOCodec()));
+
+    private EventoDTO evento;
+    private byte[] bytesJdk;
+    private byte[] bytesCompacto;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        evento = exemplo(quantidadeTags);
+        bytesJdk = jdk.serialize(evento);
+        bytesCompacto = compacto.serialize(evento);
+    }
+
+    @Benchmark
+    public byte[] serializarJdk() {
+        return jdk.serialize(evento);
+    }
+
+    @Benchmark
+    public byte[] serializarCompacto() {
+        return compacto.serialize(evento);
+    }
+
+    @Benchmark
+    public Object desserializarJdk() {
+        return jdk.deserialize(bytesJdk);
+    }
+
+    @Benchmark
+    public Object desserializarCompacto() {
+        return compacto.deserialize(bytesCompacto);
+    }
+
+    private static EventoDTO exemplo(int quantidadeTags) {
+        List<String> tags = new ArrayList<>(quantidadeTags);
+        for (int i = 0; i < quantidadeTags; i++) {
+            tags.add("Sustentabilidade " + i);
+        }
+        return new EventoDTO(48213L, "Feira de Trocas da Praça Benedito Calixto", "Praça Benedito Calixto",
+                LocalDate.of(2026, 11, 14), LocalTime.of(9, 0), LocalDate.of(2026, 11, 14), LocalTime.of(17, 30), tags);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        RedisSerializer<Object> jdk = new JdkSerializationRedisSerializer();
+        RedisSerializer<Object> compacto = new CompactoRedisSerializer(List.of(new EventoDTOCodec()));
+        for (int quantidadeTags : new int[]{2, 8}) {
+            EventoDTO evento = exemplo(quantidadeTags);
+            System.out.printf("%d tags: JDK = %d bytes, compacto = %d bytes%n",
+                    quantidadeTags, jdk.serialize(evento).length, compacto.serialize(evento).length);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
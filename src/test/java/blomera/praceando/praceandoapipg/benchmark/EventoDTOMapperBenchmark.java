@@ -0,0 +1,104 @@
+package blomera.praceando.praceandoapipg.benchmark;
+
+import blomera.praceando.praceandoapipg.PraceandoApiPgApplication;
+import blomera.praceando.praceandoapipg.dto.EventoDTO;
+import blomera.praceando.praceandoapipg.repository.EventoJdbcRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a leitura de EventoDTO pela native query do Hibernate (List<Object[]> convertida à mão)
+ * com o EventoJdbcRepository (RowMapper lendo tipos direto do ResultSet).
+ * Usa o mesmo banco configurado para a aplicação (variáveis SPRING_DATASOURCE_*), que precisa ter eventos ativos.
+ * Execução: rodar o main desta classe a partir do classpath de testes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventoDTOMapperBenchmark {
+
+    private static final String SQL_POR_IDS = "SELECT e.id_evento, e.nm_evento, l.nm_local, e.dt_inicio, e.hr_inicio, e.dt_fim, e.hr_fim, array_agg(t.nm_tag) AS tags " +
+            "FROM evento e " +
+            "JOIN local l ON l.id_local = e.cd_local " +
+            "JOIN evento_tag et ON et.cd_evento = e.id_evento " +
+            "JOIN tag t ON t.id_tag = et.cd_tag " +
+            "WHERE e.id_evento IN :ids " +
+            "AND e.dt_desativacao IS NULL " +
+            "GROUP BY e.id_evento, e.nm_evento, l.nm_local, e.dt_inicio, e.hr_inicio, e.dt_fim, e.hr_fim";
+
+    @Param({"10", "200"})
+    public int quantidade;
+
+    private ConfigurableApplicationContext contexto;
+    private EntityManager entityManager;
+    private EventoJdbcRepository eventoJdbcRepository;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexto = new SpringApplicationBuilder(PraceandoApiPgApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        entityManager = contexto.getBean(EntityManager.class);
+        eventoJdbcRepository = contexto.getBean(EventoJdbcRepository.class);
+        ids = contexto.getBean(JdbcTemplate.class).queryForList(
+                "SELECT id_evento FROM evento WHERE dt_desativacao IS NULL ORDER BY id_evento LIMIT ?", Long.class, quantidade);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<EventoDTO> hibernateObjectArray() {
+        List<Object[]> resultados = entityManager.createNativeQuery(SQL_POR_IDS)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        List<EventoDTO> eventos = new ArrayList<>();
+        for (Object[] resultado : resultados) {
+            Long idEvento = (Long) resultado[0];
+            String nomeEvento = (String) resultado[1];
+            String nomeLocal = (String) resultado[2];
+            LocalDate dataInicio = ((java.sql.Date) resultado[3]).toLocalDate();
+            LocalTime horaInicio = ((java.sql.Time) resultado[4]).toLocalTime();
+            LocalDate dataFim = ((java.sql.Date) resultado[5]).toLocalDate();
+            LocalTime horaFim = ((java.sql.Time) resultado[6]).toLocalTime();
+            String[] tagsArray = (String[]) resultado[7];
+            List<String> tags = Arrays.asList(tagsArray);
+
+            eventos.add(new EventoDTO(idEvento, nomeEvento, nomeLocal, dataInicio, horaInicio, dataFim, horaFim, tags));
+        }
+        return eventos;
+    }
+
+    @Benchmark
+    public List<EventoDTO> jdbcRowMapper() {
+        return eventoJdbcRepository.findAllWithTagsByIds(ids);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventoDTOMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,128 @@
+package blomera.praceando.praceandoapipg.service;
+
+import blomera.praceando.praceandoapipg.model.Anunciante;
+import blomera.praceando.praceandoapipg.model.Evento;
+import blomera.praceando.praceandoapipg.model.Local;
+import blomera.praceando.praceandoapipg.util.SqlArrays;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Regressão do vazamento de conexões na escrita de eventos e interesses: milhares de escritas concorrentes precisam
+ * terminar sem esgotar o pool (maximum-pool-size=5) e devolver todas as conexões ao final. Como as tarefas agendadas
+ * também usam o pool, o teste espera o pool ficar ocioso por até ESPERA_POOL_OCIOSO; um vazamento nunca o deixa ocioso.
+ * Grava no banco configurado, por isso só roda com -Dpraceando.teste.postgres=true.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "praceando.teste.postgres", matches = "true")
+class PoolConexaoVazamentoTests {
+
+    private static final int ESCRITAS = 2000;
+    private static final int THREADS = 16;
+    private static final long ESPERA_POOL_OCIOSO = TimeUnit.SECONDS.toMillis(30);
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private UsuarioTagService usuarioTagService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void escritasConcorrentesNaoEsgotamOPool() throws Exception {
+        Long idLocal = primeiro("SELECT id_local FROM local WHERE dt_desativacao IS NULL LIMIT 1", Long.class);
+        Long idAnunciante = primeiro("SELECT id_anunciante FROM anunciante LIMIT 1", Long.class);
+        Long idConsumidor = primeiro("SELECT id_consumidor FROM consumidor LIMIT 1", Long.class);
+        String tag = primeiro("SELECT nm_tag FROM tag WHERE dt_desativacao IS NULL LIMIT 1", String.class);
+        assumeTrue(idLocal != null && idAnunciante != null && idConsumidor != null && tag != null,
+                "O banco precisa de ao menos um local, anunciante, consumidor e tag.");
+
+        Long ultimoUsuarioTag = primeiro("SELECT COALESCE(MAX(id_usuario_tag), 0) FROM usuario_tag", Long.class);
+        List<Long> criados = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>(ESCRITAS);
+            for (int i = 0; i < ESCRITAS; i++) {
+                int n = i;
+                tarefas.add(executor.submit(() -> {
+                    Integer idEvento = eventoService.saveEvento(novoEvento(n, idLocal, idAnunciante), List.of(tag));
+                    criados.add(idEvento.longValue());
+                    usuarioTagService.saveUsuarioTag(idConsumidor.intValue(), idEvento, List.of(tag));
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(2, TimeUnit.MINUTES);
+            }
+
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            long limite = System.currentTimeMillis() + ESPERA_POOL_OCIOSO;
+            while ((pool.getActiveConnections() > 0 || pool.getThreadsAwaitingConnection() > 0) && System.currentTimeMillis() < limite) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, pool.getActiveConnections());
+            assertEquals(0, pool.getThreadsAwaitingConnection());
+            assertEquals(ESCRITAS, criados.size());
+        } finally {
+            executor.shutdownNow();
+            remover(criados);
+            jdbcTemplate.update("DELETE FROM usuario_tag WHERE cd_consumidor = ? AND id_usuario_tag > ?", idConsumidor, ultimoUsuarioTag);
+        }
+    }
+
+    private <T> T primeiro(String sql, Class<T> tipo) {
+        List<T> resultado = jdbcTemplate.queryForList(sql, tipo);
+        return resultado.isEmpty() ? null : resultado.get(0);
+    }
+
+    private static Evento novoEvento(int n, Long idLocal, Long idAnunciante) {
+        Local local = new Local();
+        local.setId(idLocal);
+        Anunciante anunciante = new Anunciante();
+        anunciante.setId(idAnunciante);
+
+        Evento evento = new Evento();
+        evento.setLocal(local);
+        evento.setAnunciante(anunciante);
+        evento.setNmEvento("Teste de pool " + n);
+        evento.setDtInicio(LocalDate.now().plusDays(1));
+        evento.setHrInicio(LocalTime.of(10, 0));
+        evento.setDtFim(LocalDate.now().plusDays(1));
+        evento.setHrFim(LocalTime.of(12, 0));
+        return evento;
+    }
+
+    private void remover(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (String sql : List.of("DELETE FROM interesse WHERE cd_evento = ANY (?)",
+                "DELETE FROM evento_tag WHERE cd_evento = ANY (?)",
+                "DELETE FROM evento WHERE id_evento = ANY (?)")) {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                SqlArrays.bind(ps, 1, SqlArrays.BIGINT, ids);
+                return ps;
+            });
+        }
+    }
+}